@@ -0,0 +1,65 @@
+package com.krills.benchmark;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.krills.dto.FriendRequestDTO;
+import com.krills.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// The generic branch is left out: it prints a stack trace per call and would flood the results
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    @Param({"validation", "invalidFormat", "notFound", "webApplication"})
+    String exceptionType;
+
+    private GlobalExceptionHandler handler;
+    private Exception exception;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        Fixtures.inject(handler, "registry", new SimpleMeterRegistry());
+        exception = switch (exceptionType) {
+            case "validation" -> validationException();
+            case "invalidFormat" -> InvalidFormatException.from(null, "Invalid date", "not-a-date", LocalDate.class);
+            case "notFound" -> new NotFoundException("Friend not found");
+            case "webApplication" -> new WebApplicationException("Unauthorized", Response.Status.FORBIDDEN);
+            default -> throw new IllegalArgumentException(exceptionType);
+        };
+    }
+
+    @Benchmark
+    public Response toResponse() {
+        return handler.toResponse(exception);
+    }
+
+    private static ConstraintViolationException validationException() {
+        Validator validator = Validation.byProvider(HibernateValidator.class)
+                .configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory()
+                .getValidator();
+
+        FriendRequestDTO dto = new FriendRequestDTO();
+        dto.birthDate = LocalDate.now().plusDays(1);
+
+        return new ConstraintViolationException(validator.validate(dto));
+    }
+}
@@ -0,0 +1,101 @@
+package com.krills.benchmark;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.cache.FriendListCache;
+import com.krills.dataset.DatasetGenerator;
+import com.krills.dataset.DatasetSpec;
+import com.krills.dataset.FriendCountDistribution;
+import com.krills.dto.FriendResponseDTO;
+import com.krills.entity.Friend;
+import com.krills.mapper.FriendMapper;
+import com.krills.service.FriendService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Wires the beans by hand so benchmarks measure the code paths without booting Quarkus
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static BirthdayCalendar birthdayCalendar() {
+        BirthdayCalendar calendar = new BirthdayCalendar();
+        inject(calendar, "clock", Clock.systemDefaultZone());
+        return calendar;
+    }
+
+    static FriendMapper friendMapper() {
+        FriendMapper mapper = new FriendMapper();
+        inject(mapper, "birthdayCalendar", birthdayCalendar());
+        return mapper;
+    }
+
+    static FriendListCache friendListCache(BirthdayCalendar calendar) {
+        FriendListCache cache = new FriendListCache();
+        inject(cache, "maxSize", 10_000);
+        inject(cache, "ttl", Duration.ofHours(1));
+        inject(cache, "birthdayCalendar", calendar);
+        inject(cache, "registry", new SimpleMeterRegistry());
+        invoke(cache, "init");
+        return cache;
+    }
+
+    static FriendService friendService(FriendMapper mapper, FriendListCache cache, BirthdayCalendar calendar) {
+        FriendService service = new FriendService();
+        inject(service, "mapper", mapper);
+        inject(service, "friendListCache", cache);
+        inject(service, "birthdayCalendar", calendar);
+        return service;
+    }
+
+    // One generated user's friends: realistic names and birth dates, February 29 included
+    static List<Friend> friends(int count) {
+        DatasetSpec spec = new DatasetSpec("benchmark", 1, FriendCountDistribution.FIXED, count, count,
+                DatasetSpec.DEFAULT_PASSWORD, 42);
+        List<Friend> friends = new ArrayList<>(count);
+
+        new DatasetGenerator(spec, null, LocalDate.now()).user(0, generated -> {
+            Friend friend = new Friend();
+            friend.id = generated.id();
+            friend.firstName = generated.firstName();
+            friend.lastName = generated.lastName();
+            friend.birthDate = generated.birthDate();
+            friend.birthMonthDay = generated.birthMonthDay();
+            friends.add(friend);
+        });
+        return friends;
+    }
+
+    static List<FriendResponseDTO> friendDTOs(FriendMapper mapper, int count) {
+        return friends(count).stream()
+                .map(mapper::toDTO)
+                .toList();
+    }
+
+    static void inject(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + name + " into " + target.getClass().getName(), e);
+        }
+    }
+
+    private static void invoke(Object target, String name) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(name);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot invoke " + name + " on " + target.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.krills.benchmark;
+
+import com.krills.dto.FriendResponseDTO;
+import com.krills.entity.Friend;
+import com.krills.mapper.FriendMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FriendMapperBenchmark {
+
+    private FriendMapper mapper;
+    private List<Friend> friends;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mapper = Fixtures.friendMapper();
+        friends = Fixtures.friends(1024);
+    }
+
+    @Benchmark
+    public FriendResponseDTO toDTO() {
+        next = (next + 1) & 1023;
+        return mapper.toDTO(friends.get(next));
+    }
+}
@@ -0,0 +1,41 @@
+package com.krills.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.krills.dto.FriendResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FriendSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int friendCount;
+
+    private ObjectMapper objectMapper;
+    private List<FriendResponseDTO> friends;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the Quarkus-managed ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        friends = Fixtures.friendDTOs(Fixtures.friendMapper(), friendCount);
+    }
+
+    @Benchmark
+    public void serializeFriendList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), friends);
+    }
+}
@@ -0,0 +1,62 @@
+package com.krills.benchmark;
+
+import com.krills.security.CachingJWTParser;
+import com.krills.security.UserPrincipal;
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.ParseException;
+import io.smallrye.jwt.build.Jwt;
+import io.smallrye.jwt.util.KeyUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of turning the bearer token into a principal, with and without the verification cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String ISSUER = "birthday-tracker";
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private DefaultJWTParser defaultParser;
+    private CachingJWTParser cachingParser;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWTAuthContextInfo context = new JWTAuthContextInfo();
+        context.setIssuedBy(ISSUER);
+        context.setSecretVerificationKey(KeyUtils.createSecretKeyFromSecret(SECRET));
+        context.setSignatureAlgorithm(Set.of(SignatureAlgorithm.HS256));
+
+        defaultParser = new DefaultJWTParser(context);
+        cachingParser = new CachingJWTParser(context);
+        Fixtures.inject(cachingParser, "maxSize", 10_000);
+
+        token = Jwt.issuer(ISSUER)
+                .upn("benchmark")
+                .subject(UUID.randomUUID().toString())
+                .groups("user")
+                .expiresIn(Duration.ofHours(24))
+                .signWithSecret(SECRET);
+    }
+
+    @Benchmark
+    public UUID verifyAndParseSubject() throws ParseException {
+        return UUID.fromString(defaultParser.parse(token).getSubject());
+    }
+
+    @Benchmark
+    public UUID cachedPrincipal() throws ParseException {
+        return ((UserPrincipal) cachingParser.parse(token)).userId;
+    }
+}
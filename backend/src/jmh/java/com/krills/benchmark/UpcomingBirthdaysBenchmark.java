@@ -0,0 +1,63 @@
+package com.krills.benchmark;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.cache.FriendListCache;
+import com.krills.dto.FriendResponseDTO;
+import com.krills.entity.Friend;
+import com.krills.mapper.FriendMapper;
+import com.krills.service.FriendService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpcomingBirthdaysBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int friendCount;
+
+    private final UUID userId = UUID.randomUUID();
+    private FriendMapper mapper;
+    private FriendService friendService;
+    private List<Friend> friends;
+
+    @Setup
+    public void setUp() {
+        BirthdayCalendar calendar = Fixtures.birthdayCalendar();
+        FriendListCache cache = Fixtures.friendListCache(calendar);
+
+        mapper = Fixtures.friendMapper();
+        friendService = Fixtures.friendService(mapper, cache, calendar);
+        friends = Fixtures.friends(friendCount);
+
+        cache.get(userId, 0, () -> friends.stream().map(mapper::toDTO).collect(Collectors.toList()));
+    }
+
+    // The original load-all, map-all and sort path
+    @Benchmark
+    public List<FriendResponseDTO> mapAndSortAll() {
+        return friends.stream()
+                .map(friend -> mapper.toDTO(friend))
+                .sorted(Comparator.comparing(dto -> dto.daysUntilBirthday))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<FriendResponseDTO> upcomingFromCache() {
+        return friendService.getUpcomingBirthdays(userId, 0, null, null);
+    }
+
+    @Benchmark
+    public List<FriendResponseDTO> nextFiveFromCache() {
+        return friendService.getUpcomingBirthdays(userId, 0, 5, null);
+    }
+}
@@ -0,0 +1,76 @@
+package com.krills.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A seeded user and the ids of its friends; shared by the virtual users logged in as it when --users < --concurrency
+final class Account {
+
+    final String username;
+    private volatile String token;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<UUID> friendIds = new ArrayList<>();
+
+    Account(String username, String token) {
+        this.username = username;
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        if (token != null) {
+            this.token = token;
+        }
+    }
+
+    void addFriend(UUID friendId) {
+        lock.lock();
+        try {
+            friendIds.add(friendId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    UUID anyFriend(Random random) {
+        lock.lock();
+        try {
+            return friendIds.isEmpty() ? null : friendIds.get(random.nextInt(friendIds.size()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removed before the delete is sent, so two virtual users never delete the same friend
+    UUID takeFriend(Random random) {
+        lock.lock();
+        try {
+            if (friendIds.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(friendIds.size());
+            UUID friendId = friendIds.get(index);
+            friendIds.set(index, friendIds.get(friendIds.size() - 1));
+            friendIds.remove(friendIds.size() - 1);
+            return friendId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int friendCount() {
+        lock.lock();
+        try {
+            return friendIds.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.krills.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+// The backend's REST API as the frontend calls it. Every call made during the run is timed and recorded under its
+// operation; calls made while seeding pass a null recorder
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    static final String PASSWORD = "LoadTest1!";
+
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    ApiClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response register(String username, LatencyRecorder recorder) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("email", username + "@loadtest.example.com")
+                .put("password", PASSWORD)
+                .put("firstName", "Load")
+                .put("lastName", "Test")
+                .put("birthDate", "1990-01-01");
+        return send(Operation.REGISTER, recorder, request("/api/auth/register", null).POST(json(body)));
+    }
+
+    Response login(String username, LatencyRecorder recorder) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", PASSWORD);
+        return send(Operation.LOGIN, recorder, request("/api/auth/login", null).POST(json(body)));
+    }
+
+    Response profile(String token, LatencyRecorder recorder) {
+        return send(Operation.PROFILE, recorder, request("/api/me", token).GET());
+    }
+
+    Response listFriends(String token, LatencyRecorder recorder) {
+        return send(Operation.LIST_FRIENDS, recorder, request("/api/friends", token).GET());
+    }
+
+    Response upcoming(String token, LatencyRecorder recorder) {
+        return send(Operation.UPCOMING, recorder, request("/api/friends/upcoming?limit=10&withinDays=30", token).GET());
+    }
+
+    Response createFriend(String token, FriendFixture friend, LatencyRecorder recorder) {
+        return send(Operation.CREATE_FRIEND, recorder, request("/api/friends", token).POST(json(friend(friend))));
+    }
+
+    Response updateFriend(String token, UUID friendId, FriendFixture friend, LatencyRecorder recorder) {
+        return send(Operation.UPDATE_FRIEND, recorder,
+                request("/api/friends/" + friendId, token).PUT(json(friend(friend))));
+    }
+
+    Response deleteFriend(String token, UUID friendId, LatencyRecorder recorder) {
+        return send(Operation.DELETE_FRIEND, recorder, request("/api/friends/" + friendId, token).DELETE());
+    }
+
+    // Seeding only, so never recorded
+    Response importFriends(String token, List<FriendFixture> friends) {
+        ArrayNode body = objectMapper.createArrayNode();
+        friends.forEach(friend -> body.add(friend(friend)));
+        return send(null, null, request("/api/friends/bulk", token).POST(json(body)));
+    }
+
+    String token(Response response) {
+        return response.json().path("token").asText(null);
+    }
+
+    private ObjectNode friend(FriendFixture friend) {
+        return objectMapper.createObjectNode()
+                .put("firstName", friend.firstName())
+                .put("lastName", friend.lastName())
+                .put("birthDate", friend.birthDate().toString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(JsonNode body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Response send(Operation operation, LatencyRecorder recorder, HttpRequest.Builder builder) {
+        HttpRequest request = builder.header("Content-Type", "application/json").build();
+        long started = System.nanoTime();
+        int status = 0;
+        byte[] body = new byte[0];
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            body = response.body();
+        } catch (IOException e) {
+            // Recorded as status 0: a refused or reset connection is a failed request, not a reason to stop
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (recorder != null) {
+            recorder.record(operation, started, System.nanoTime() - started, status);
+        }
+        return new Response(status, body);
+    }
+
+    final class Response {
+        final int status;
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return body.length == 0 ? objectMapper.missingNode() : objectMapper.readTree(body);
+            } catch (IOException e) {
+                return objectMapper.missingNode();
+            }
+        }
+    }
+
+    record FriendFixture(String firstName, String lastName, LocalDate birthDate) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.krills.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps every latency of every operation; a few minutes at a few thousand requests per second is a few MB, and
+// exact percentiles are easier to trust than a histogram's when comparing releases
+final class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    // Only requests started inside [from, to) of System.nanoTime() count, which leaves out the ramp-up
+    private final long from;
+    private final long to;
+
+    LatencyRecorder(long from, long to) {
+        this.from = from;
+        this.to = to;
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    void record(Operation operation, long started, long nanos, int status) {
+        if (started >= from && started < to) {
+            samples.get(operation).add(nanos, status);
+        }
+    }
+
+    Map<Operation, Summary> summarize() {
+        double seconds = (to - from) / 1_000_000_000.0;
+        Map<Operation, Summary> summaries = new EnumMap<>(Operation.class);
+        samples.forEach((operation, operationSamples) -> {
+            Summary summary = operationSamples.summarize(seconds);
+            if (summary.count() > 0) {
+                summaries.put(operation, summary);
+            }
+        });
+        return summaries;
+    }
+
+    record Summary(long count, long errors, double throughput, double p50, double p95, double p99, double max,
+                   Map<Integer, Long> statuses) {
+    }
+
+    private static final class Samples {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latency, int status) {
+            lock.lock();
+            try {
+                if (size == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, size * 2);
+                }
+                nanos[size++] = latency;
+                statuses.merge(status, 1L, Long::sum);
+                // 304 is a successful conditional read; 0 means the request never got an answer
+                if (status == 0 || status >= 400) {
+                    errors++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Summary summarize(double seconds) {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(nanos, size);
+                Arrays.sort(sorted);
+                return new Summary(size, errors, size / seconds,
+                        millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0),
+                        new TreeMap<>(statuses));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Nearest-rank percentile
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+}
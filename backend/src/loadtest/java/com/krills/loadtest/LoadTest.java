@@ -0,0 +1,221 @@
+package com.krills.loadtest;
+
+import com.krills.loadtest.ApiClient.FriendFixture;
+import com.krills.loadtest.ApiClient.Response;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Seeds --users accounts with a realistic spread of friends, then runs --concurrency virtual users against the real
+// endpoints: they start evenly over --ramp-up, and only the requests started in the following --duration are reported
+public final class LoadTest {
+
+    private static final String[] FIRST_NAMES = {"Emma", "Liam", "Olivia", "Noah", "Amelia", "Oliver", "Sophia", "Elijah",
+            "Mia", "Lucas", "Chloé", "José", "Fatima", "Youssef", "Hana", "Kenji", "Ana", "Mateo", "Zoe", "Omar"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "García", "Martin", "Dubois", "Müller",
+            "Rossi", "Silva", "Kim", "Nguyen", "Haddad", "Kowalski", "Ivanova", "Tanaka", "Moreau", "Lopez", "Jones"};
+    private static final LocalDate OLDEST = LocalDate.of(1940, 1, 1);
+    private static final int IMPORT_CHUNK = 1000;
+
+    // Spread of friends per user: log-normal around the median, so most users have a few hundred and a few have
+    // thousands
+    private static final double FRIENDS_SIGMA = 1.0;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ApiClient client = new ApiClient(options.baseUrl());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        System.out.printf("Seeding %d users (median %d friends, max %d) on %s%n",
+                options.users(), options.medianFriends(), options.maxFriends(), options.baseUrl());
+        List<Account> accounts = seed(options, client, runId);
+
+        System.out.printf("Running %d virtual users: %s ramp-up, %s measured%n",
+                options.concurrency(), options.rampUp(), options.duration());
+        LatencyRecorder recorder = run(options, client, accounts, runId);
+
+        Map<Operation, LatencyRecorder.Summary> summaries = recorder.summarize();
+        LoadTestReport.print(options, summaries);
+        LoadTestReport.write(options, summaries);
+        System.out.println("Results written to " + options.output().toAbsolutePath());
+    }
+
+    private static List<Account> seed(LoadTestOptions options, ApiClient client, String runId) throws Exception {
+        Semaphore permits = new Semaphore(options.concurrency());
+        List<Future<Account>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return seedAccount(options, client, "lt" + runId + "u" + index, new Random(options.seed() + index));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>(futures.size());
+        long friends = 0;
+        for (Future<Account> future : futures) {
+            Account account = future.get();
+            accounts.add(account);
+            friends += account.friendCount();
+        }
+        System.out.printf("Seeded %d users with %d friends%n", accounts.size(), friends);
+        return accounts;
+    }
+
+    private static Account seedAccount(LoadTestOptions options, ApiClient client, String username, Random random) {
+        Response registered = client.register(username, null);
+        if (!registered.ok()) {
+            throw new IllegalStateException("Registering " + username + " failed with " + registered.status
+                    + "; is the backend running on " + options.baseUrl() + "?");
+        }
+        Account account = new Account(username, client.token(registered));
+
+        int count = friendCount(options, random);
+        for (int imported = 0; imported < count; imported += IMPORT_CHUNK) {
+            List<FriendFixture> chunk = new ArrayList<>(IMPORT_CHUNK);
+            for (int i = imported; i < Math.min(count, imported + IMPORT_CHUNK); i++) {
+                chunk.add(friend(random));
+            }
+            Response response = client.importFriends(account.token(), chunk);
+            if (!response.ok()) {
+                throw new IllegalStateException("Importing friends for " + username + " failed with " + response.status);
+            }
+        }
+
+        client.listFriends(account.token(), null).json()
+                .forEach(friend -> account.addFriend(UUID.fromString(friend.path("id").asText())));
+        return account;
+    }
+
+    private static LatencyRecorder run(LoadTestOptions options, ApiClient client, List<Account> accounts, String runId)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.rampUp().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        LatencyRecorder recorder = new LatencyRecorder(measureFrom, end);
+        Operation[] schedule = schedule(options.mix());
+        AtomicInteger registrations = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                int index = i;
+                long startAt = start + options.rampUp().toNanos() * index / options.concurrency();
+                executor.submit(() -> {
+                    sleepUntil(startAt);
+                    Account account = accounts.get(index % accounts.size());
+                    Random random = new Random(options.seed() * 31 + index);
+                    while (System.nanoTime() < end) {
+                        Operation operation = schedule[random.nextInt(schedule.length)];
+                        perform(operation, client, account, random, recorder,
+                                () -> "lt" + runId + "r" + registrations.incrementAndGet());
+                        if (!options.thinkTime().isZero()) {
+                            sleepUntil(System.nanoTime() + options.thinkTime().toNanos());
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Duration.ofNanos(end - System.nanoTime()).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return recorder;
+    }
+
+    private static void perform(Operation operation, ApiClient client, Account account, Random random,
+                                LatencyRecorder recorder, Supplier<String> newUsername) {
+        switch (operation) {
+            case REGISTER -> client.register(newUsername.get(), recorder);
+            case LOGIN -> {
+                Response response = client.login(account.username, recorder);
+                if (response.ok()) {
+                    account.token(client.token(response));
+                }
+            }
+            case PROFILE -> client.profile(account.token(), recorder);
+            case LIST_FRIENDS -> client.listFriends(account.token(), recorder);
+            case UPCOMING -> client.upcoming(account.token(), recorder);
+            case CREATE_FRIEND -> create(client, account, random, recorder);
+            case UPDATE_FRIEND -> {
+                UUID friendId = account.anyFriend(random);
+                if (friendId == null) {
+                    create(client, account, random, recorder);
+                } else {
+                    client.updateFriend(account.token(), friendId, friend(random), recorder);
+                }
+            }
+            case DELETE_FRIEND -> {
+                UUID friendId = account.takeFriend(random);
+                if (friendId == null) {
+                    create(client, account, random, recorder);
+                } else {
+                    client.deleteFriend(account.token(), friendId, recorder);
+                }
+            }
+        }
+    }
+
+    private static void create(ApiClient client, Account account, Random random, LatencyRecorder recorder) {
+        Response response = client.createFriend(account.token(), friend(random), recorder);
+        if (response.ok()) {
+            account.addFriend(UUID.fromString(response.json().path("id").asText()));
+        }
+    }
+
+    // Each operation repeated by its weight, so picking a random slot follows the mix
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("--mix selects no operation");
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private static int friendCount(LoadTestOptions options, Random random) {
+        double count = options.medianFriends() * Math.exp(FRIENDS_SIGMA * random.nextGaussian());
+        return (int) Math.min(Math.round(count), options.maxFriends());
+    }
+
+    // Includes February 29 births, which the upcoming query has to place in non-leap years
+    private static FriendFixture friend(Random random) {
+        LocalDate birthDate = random.nextInt(1461) == 0
+                ? LocalDate.of(1960 + 4 * random.nextInt(15), 2, 29)
+                : OLDEST.plusDays(random.nextInt(365 * 80));
+        return new FriendFixture(
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                birthDate);
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.krills.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Command line options, given as --name=value
+record LoadTestOptions(
+        URI baseUrl,
+        int users,
+        int concurrency,
+        Duration rampUp,
+        Duration duration,
+        Duration thinkTime,
+        int medianFriends,
+        int maxFriends,
+        Map<Operation, Integer> mix,
+        String label,
+        Path output,
+        Path baseline,
+        long seed
+) {
+
+    private static final Set<String> NAMES = Set.of("url", "users", "concurrency", "ramp-up", "duration",
+            "think-time", "median-friends", "max-friends", "mix", "label", "output", "baseline", "seed");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String name = arg.substring(2, separator);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        int concurrency = Integer.parseInt(values.getOrDefault("concurrency", "50"));
+        String label = values.getOrDefault("label", "run");
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(values.getOrDefault("url", "http://localhost:8080")),
+                Integer.parseInt(values.getOrDefault("users", String.valueOf(concurrency))),
+                concurrency,
+                Duration.parse("PT" + values.getOrDefault("ramp-up", "30s")),
+                Duration.parse("PT" + values.getOrDefault("duration", "2m")),
+                Duration.parse("PT" + values.getOrDefault("think-time", "0s")),
+                Integer.parseInt(values.getOrDefault("median-friends", "150")),
+                Integer.parseInt(values.getOrDefault("max-friends", "5000")),
+                mix(values.get("mix")),
+                label,
+                Path.of(values.getOrDefault("output", "target/loadtest-" + label + ".json")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+
+        if (options.users < 1 || options.concurrency < 1) {
+            throw new IllegalArgumentException("--users and --concurrency must be positive");
+        }
+        return options;
+    }
+
+    // --mix=friends.list:5,auth.login:1 replaces the default weights; operations left out are not run
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        if (value == null || value.isBlank()) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.defaultWeight);
+            }
+            return mix;
+        }
+
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            mix.put(Operation.byName(parts[0]), weight);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,68 @@
+package com.krills.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Map;
+
+// Prints the per-operation table and writes it as JSON; with --baseline=<earlier result> the table also shows how
+// p95 and throughput moved, which is how two releases (or platform and virtual threads) are compared
+final class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestReport() {
+    }
+
+    static void print(LoadTestOptions options, Map<Operation, LatencyRecorder.Summary> summaries) throws IOException {
+        JsonNode baseline = options.baseline() == null
+                ? OBJECT_MAPPER.missingNode()
+                : OBJECT_MAPPER.readTree(options.baseline().toFile()).path("operations");
+
+        System.out.printf("%n%-18s %8s %7s %9s %9s %9s %9s %9s%s%n", "operation", "count", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms", baseline.isMissingNode() ? "" : "   p95 vs base   req/s vs base");
+        long count = 0;
+        double throughput = 0;
+        for (Map.Entry<Operation, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue();
+            JsonNode base = baseline.path(entry.getKey().label);
+            System.out.printf("%-18s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%s%n", entry.getKey().label, summary.count(),
+                    summary.errors(), summary.throughput(), summary.p50(), summary.p95(), summary.p99(), summary.max(),
+                    base.isMissingNode() ? "" : String.format("   %+11.1f%%   %+13.1f%%",
+                            change(base.path("p95").asDouble(), summary.p95()),
+                            change(base.path("throughput").asDouble(), summary.throughput())));
+            count += summary.count();
+            throughput += summary.throughput();
+        }
+        System.out.printf("%-18s %8d %7s %9.1f%n%n", "total", count, "", throughput);
+    }
+
+    static void write(LoadTestOptions options, Map<Operation, LatencyRecorder.Summary> summaries) throws IOException {
+        ObjectNode result = OBJECT_MAPPER.createObjectNode()
+                .put("label", options.label())
+                .put("finishedAt", Instant.now().toString())
+                .put("url", options.baseUrl().toString())
+                .put("users", options.users())
+                .put("concurrency", options.concurrency())
+                .put("rampUp", options.rampUp().toString())
+                .put("duration", options.duration().toString())
+                .put("medianFriends", options.medianFriends())
+                .put("maxFriends", options.maxFriends());
+        ObjectNode operations = result.putObject("operations");
+        summaries.forEach((operation, summary) -> operations.set(operation.label, OBJECT_MAPPER.valueToTree(summary)));
+
+        if (options.output().getParent() != null) {
+            Files.createDirectories(options.output().getParent());
+        }
+        OBJECT_MAPPER.writeValue(options.output().toFile(), result);
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,33 @@
+package com.krills.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// One kind of request a virtual user makes, reported under its name. The default weights approximate the frontend:
+// mostly list and dashboard reads, with occasional edits and logins
+enum Operation {
+    REGISTER("auth.register", 1),
+    LOGIN("auth.login", 4),
+    PROFILE("me.get", 8),
+    LIST_FRIENDS("friends.list", 35),
+    UPCOMING("friends.upcoming", 25),
+    CREATE_FRIEND("friends.create", 10),
+    UPDATE_FRIEND("friends.update", 9),
+    DELETE_FRIEND("friends.delete", 8);
+
+    final String label;
+    final int defaultWeight;
+
+    Operation(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    static Operation byName(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + label + ", expected one of "
+                        + Arrays.stream(values()).map(operation -> operation.label).collect(Collectors.joining(", "))));
+    }
+}
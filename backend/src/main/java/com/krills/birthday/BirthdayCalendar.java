@@ -0,0 +1,85 @@
+package com.krills.birthday;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Birthdays are addressed by their month-day ordinal (0 = Jan 1, 59 = Feb 29, 365 = Dec 31);
+// the lookup tables are rebuilt the first time they are used on another local day than the one they were built for
+@ApplicationScoped
+public class BirthdayCalendar {
+
+    public static final int DAYS = 366;
+
+    private static final int FEB_29 = 59;
+
+    @Inject
+    Clock clock;
+
+    private volatile Projection projection;
+
+    public static int ordinal(LocalDate date) {
+        int ordinal = date.getDayOfYear() - 1;
+        return !date.isLeapYear() && date.getMonthValue() > 2 ? ordinal + 1 : ordinal;
+    }
+
+    public LocalDate today() {
+        return current().today;
+    }
+
+    public int daysUntilBirthday(int ordinal) {
+        return current().daysUntil[ordinal];
+    }
+
+    public LocalDate nextBirthday(int ordinal) {
+        return current().nextBirthday[ordinal];
+    }
+
+    public boolean isBirthdayToday(int ordinal) {
+        return current().daysUntil[ordinal] == 0;
+    }
+
+    private Projection current() {
+        Projection current = projection;
+        long now = clock.millis();
+        if (current == null || now < current.validFrom || now >= current.validUntil) {
+            current = new Projection(LocalDate.now(clock), clock);
+            projection = current;
+        }
+        return current;
+    }
+
+    private static LocalDate birthdayIn(int year, int ordinal) {
+        // Feb 29 birthdays are celebrated on Feb 28 in non-leap years
+        if (ordinal == FEB_29 && !LocalDate.of(year, 1, 1).isLeapYear()) {
+            return LocalDate.of(year, 2, 28);
+        }
+        return LocalDate.ofYearDay(2000, ordinal + 1).withYear(year);
+    }
+
+    private static final class Projection {
+        final LocalDate today;
+        final long validFrom;
+        final long validUntil;
+        final int[] daysUntil = new int[DAYS];
+        final LocalDate[] nextBirthday = new LocalDate[DAYS];
+
+        Projection(LocalDate today, Clock clock) {
+            this.today = today;
+            this.validFrom = today.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+            this.validUntil = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+
+            for (int ordinal = 0; ordinal < DAYS; ordinal++) {
+                LocalDate next = birthdayIn(today.getYear(), ordinal);
+                if (next.isBefore(today)) {
+                    next = birthdayIn(today.getYear() + 1, ordinal);
+                }
+                nextBirthday[ordinal] = next;
+                daysUntil[ordinal] = (int) ChronoUnit.DAYS.between(today, next);
+            }
+        }
+    }
+}
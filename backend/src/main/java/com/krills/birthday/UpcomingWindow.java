@@ -0,0 +1,49 @@
+package com.krills.birthday;
+
+import com.krills.entity.Friend;
+
+import java.time.LocalDate;
+
+// Month/day ranges (month * 100 + day) covering the next birthdays from today: [from, to], then,
+// wrapping into next year, [FIRST_MONTH_DAY, wrapTo]
+public class UpcomingWindow {
+    public static final int FIRST_MONTH_DAY = 101;
+    public static final int LAST_MONTH_DAY = 1231;
+
+    private static final int DAYS_IN_LEAP_YEAR = 366;
+
+    public final int from;
+    public final int to;
+    public final int wrapTo;
+
+    private UpcomingWindow(int from, int to, int wrapTo) {
+        this.from = from;
+        this.to = to;
+        this.wrapTo = wrapTo;
+    }
+
+    public static UpcomingWindow of(LocalDate today, Integer withinDays) {
+        int from = Friend.toMonthDay(today);
+
+        if (withinDays == null || withinDays >= DAYS_IN_LEAP_YEAR) {
+            return new UpcomingWindow(from, LAST_MONTH_DAY, from - 1);
+        }
+
+        LocalDate end = today.plusDays(withinDays);
+        int endMonthDay = Friend.toMonthDay(end);
+
+        // Feb 29 birthdays are celebrated on Feb 28 in non-leap years
+        if (endMonthDay == 228 && !end.isLeapYear()) {
+            endMonthDay = 229;
+        }
+
+        if (end.getYear() == today.getYear()) {
+            return new UpcomingWindow(from, endMonthDay, 0);
+        }
+        return new UpcomingWindow(from, LAST_MONTH_DAY, Math.min(endMonthDay, from - 1));
+    }
+
+    public boolean wraps() {
+        return wrapTo >= FIRST_MONTH_DAY;
+    }
+}
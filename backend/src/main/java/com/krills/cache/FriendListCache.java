@@ -0,0 +1,144 @@
+package com.krills.cache;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.dto.FriendResponseDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Each user's mapped friend list, tagged with the user's data version (see UserVersions). Writes bump the version,
+// so a stale entry, or one loaded while a write was in flight, is never returned; invalidate only frees the memory
+// early. Hits, misses, evictions and size are published as friends_cache_* metrics
+@ApplicationScoped
+public class FriendListCache {
+
+    @ConfigProperty(name = "friends.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "friends.cache.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // A lock rather than synchronized, so contending virtual threads park instead of pinning their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<UUID, Entry> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("friends.cache.gets", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("friends.cache.gets", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder("friends.cache.evictions", evictions, LongAdder::sum).register(registry);
+        Gauge.builder("friends.cache.size", this, FriendListCache::size).register(registry);
+    }
+
+    // version is the user's data version read before loading. A write landing during the load leaves the entry
+    // tagged with the older version, so it is only served to requests that read that same version
+    public List<FriendResponseDTO> get(UUID userId, long version, Supplier<List<FriendResponseDTO>> loader) {
+        List<FriendResponseDTO> cached = lookup(userId, version);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        LocalDate computedOn = birthdayCalendar.today();
+        List<FriendResponseDTO> loaded = List.copyOf(loader.get());
+
+        lock.lock();
+        try {
+            // A slower load of an older version must not replace a newer one
+            Entry current = entries.get(userId);
+            if (current == null || current.version <= version) {
+                entries.put(userId, new Entry(loaded, version, computedOn, System.nanoTime() + ttl.toNanos()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    // For reads that can answer from the list but fall back to their own query instead of filling the cache, so
+    // only hits are counted
+    public List<FriendResponseDTO> getIfPresent(UUID userId, long version) {
+        List<FriendResponseDTO> cached = lookup(userId, version);
+        if (cached != null) {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    private List<FriendResponseDTO> lookup(UUID userId, long version) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+
+            // Entries also go stale at midnight, since daysUntilBirthday is relative to today
+            if (entry != null && (entry.version != version || entry.expiresAt - System.nanoTime() <= 0
+                    || !entry.computedOn.equals(birthdayCalendar.today()))) {
+                entries.remove(userId);
+                evictions.increment();
+                entry = null;
+            }
+
+            return entry != null ? entry.friends : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(UUID userId) {
+        lock.lock();
+        try {
+            entries.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(List<FriendResponseDTO> friends, long version, LocalDate computedOn, long expiresAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.krills.dataset;
+
+import com.krills.entity.Friend;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Generates users and friends without touching the database. Each user is derived from the seed and its index alone,
+// so ranges of users can be generated in parallel and a dataset is the same every time it is generated for the same
+// day. Friends are mostly born within a decade of their user, with some a generation apart; birthdays fall on any day
+// of the calendar, February 29 included in leap years
+public final class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {"Emma", "Liam", "Olivia", "Noah", "Amelia", "Oliver", "Sophia",
+            "Elijah", "Mia", "Lucas", "Isabella", "Mason", "Chloé", "José", "Fatima", "Youssef", "Hana", "Kenji", "Ana",
+            "Mateo", "Zoe", "Omar", "Léa", "Sven", "Aisha", "Diego", "Yuki", "Priya", "Nikolai", "Grace", "Amir", "Ingrid"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "García", "Martin", "Dubois", "Müller",
+            "Rossi", "Silva", "Kim", "Nguyen", "Haddad", "Kowalski", "Ivanova", "Tanaka", "Moreau", "Lopez", "Jones",
+            "Andersson", "O'Brien", "Okafor", "Schmidt", "Fernández", "Chen", "Patel", "Novak", "El Amrani", "Costa"};
+
+    private static final int MIN_USER_AGE = 18;
+    private static final int MAX_USER_AGE = 80;
+    private static final int MAX_FRIEND_AGE = 105;
+    private static final double GENERATION_GAP_SHARE = 0.15;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final DatasetSpec spec;
+    private final String passwordHash;
+    private final LocalDate today;
+
+    public DatasetGenerator(DatasetSpec spec, String passwordHash, LocalDate today) {
+        this.spec = spec;
+        this.passwordHash = passwordHash;
+        this.today = today;
+    }
+
+    public DatasetSpec spec() {
+        return spec;
+    }
+
+    // The user at index (0 until spec.users()) and its friends, handed to the consumer in generation order
+    public GeneratedUser user(int index, Consumer<GeneratedFriend> friends) {
+        SplittableRandom random = new SplittableRandom(spec.seed() + GOLDEN_GAMMA * (index + 1));
+
+        String username = spec.prefix() + index;
+        LocalDate birthDate = dayIn(random, today.getYear() - MIN_USER_AGE - random.nextInt(MAX_USER_AGE - MIN_USER_AGE));
+        GeneratedUser user = new GeneratedUser(uuid(random), username, username + "@example.com", passwordHash,
+                pick(random, FIRST_NAMES), pick(random, LAST_NAMES), birthDate);
+
+        int count = spec.distribution().sample(random, spec.medianFriends(), spec.maxFriends());
+        for (int i = 0; i < count; i++) {
+            friends.accept(friend(random, user));
+        }
+        return user;
+    }
+
+    private GeneratedFriend friend(SplittableRandom random, GeneratedUser user) {
+        int year = user.birthDate().getYear() + (int) Math.round(random.nextGaussian() * 8);
+        if (random.nextDouble() < GENERATION_GAP_SHARE) {
+            year += random.nextBoolean() ? 28 : -28;
+        }
+        year = Math.max(Math.min(year, today.getYear() - 1), today.getYear() - MAX_FRIEND_AGE);
+
+        LocalDate birthDate = dayIn(random, year);
+        return new GeneratedFriend(uuid(random), user.id(), pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                birthDate, Friend.toMonthDay(birthDate));
+    }
+
+    // Uniform over the days of that year, so leap years produce February 29 at its natural rate
+    private static LocalDate dayIn(SplittableRandom random, int year) {
+        return LocalDate.ofYearDay(year, 1 + random.nextInt(Year.of(year).length()));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // Random (version 4) UUID from the seeded generator instead of SecureRandom
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    public record GeneratedUser(UUID id, String username, String email, String passwordHash, String firstName,
+                                String lastName, LocalDate birthDate) {
+    }
+
+    public record GeneratedFriend(UUID id, UUID userId, String firstName, String lastName, LocalDate birthDate,
+                                  int birthMonthDay) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.krills.dataset;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.dataset.DatasetGenerator.GeneratedFriend;
+import com.krills.dataset.DatasetGenerator.GeneratedUser;
+import com.krills.security.PasswordHasher;
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Writes a generated dataset straight through JDBC, bypassing Hibernate: multi-row inserts, a commit every
+// COMMIT_ROWS rows and one connection per loader thread, each loading its own range of users. The password is
+// hashed once for all users. Caches are not touched, which is safe because every loaded user is new
+@ApplicationScoped
+public class DatasetLoader {
+
+    private static final String[] USER_COLUMNS = {"id", "username", "email", "password", "first_name", "last_name",
+            "birth_date", "role", "data_version"};
+    private static final String[] FRIEND_COLUMNS = {"id", "user_id", "first_name", "last_name", "birth_date",
+            "birth_month_day"};
+    private static final int USERS_PER_STATEMENT = 500;
+    private static final int FRIENDS_PER_STATEMENT = 1000;
+    private static final int COMMIT_ROWS = 50_000;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "dataset.load.threads", defaultValue = "4")
+    int threads;
+
+    public DatasetLoadResult load(DatasetSpec spec) {
+        long started = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(spec, passwordHasher.hash(spec.password()), birthdayCalendar.today());
+        boolean binaryUuids = dbKind.startsWith("mysql") || dbKind.startsWith("mariadb");
+
+        int workers = Math.max(1, Math.min(threads, spec.users()));
+        List<Future<Long>> ranges = new ArrayList<>(workers);
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int worker = 0; worker < workers; worker++) {
+                int from = (int) ((long) spec.users() * worker / workers);
+                int to = (int) ((long) spec.users() * (worker + 1) / workers);
+                ranges.add(executor.submit(() -> loadRange(generator, from, to, binaryUuids)));
+            }
+
+            long friends = 0;
+            for (Future<Long> range : ranges) {
+                friends += range.get();
+            }
+            DatasetLoadResult result = new DatasetLoadResult(spec.users(), friends, Duration.ofNanos(System.nanoTime() - started));
+            Log.infof("Loaded %d users and %d friends in %d ms", result.users(), result.friends(), result.elapsed().toMillis());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dataset", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Loading the dataset failed", e.getCause());
+        }
+    }
+
+    // Whether a dataset with this prefix was loaded before, judged by its first user
+    public boolean isLoaded(DatasetSpec spec) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select count(*) from users where username = ?")) {
+            statement.setString(1, spec.prefix() + 0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot check for an existing dataset", e);
+        }
+    }
+
+    private long loadRange(DatasetGenerator generator, int from, int to, boolean binaryUuids) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // The friends insert flushes the users first, so the foreign key holds within the transaction
+            try (MultiRowInsert users = new MultiRowInsert(connection, "users", USER_COLUMNS, USERS_PER_STATEMENT,
+                    binaryUuids, null);
+                 MultiRowInsert friends = new MultiRowInsert(connection, "friends", FRIEND_COLUMNS, FRIENDS_PER_STATEMENT,
+                         binaryUuids, users)) {
+                List<GeneratedFriend> generated = new ArrayList<>();
+                long uncommitted = 0;
+
+                for (int index = from; index < to; index++) {
+                    GeneratedUser user = generator.user(index, generated::add);
+                    users.add(user.id(), user.username(), user.email(), user.passwordHash(), user.firstName(),
+                            user.lastName(), user.birthDate(), "user", 0L);
+                    for (GeneratedFriend friend : generated) {
+                        friends.add(friend.id(), friend.userId(), friend.firstName(), friend.lastName(),
+                                friend.birthDate(), friend.birthMonthDay());
+                    }
+                    uncommitted += 1 + generated.size();
+                    generated.clear();
+
+                    if (uncommitted >= COMMIT_ROWS) {
+                        friends.flush();
+                        users.flush();
+                        connection.commit();
+                        uncommitted = 0;
+                    }
+                }
+
+                friends.flush();
+                users.flush();
+                connection.commit();
+                return friends.written();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    public record DatasetLoadResult(int users, long friends, Duration elapsed) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.krills.dataset;
+
+// What to generate. Users are named <prefix><index>, so two datasets with different prefixes can share a database;
+// every user's password is the same, hashed once
+public record DatasetSpec(
+        String prefix,
+        int users,
+        FriendCountDistribution distribution,
+        int medianFriends,
+        int maxFriends,
+        String password,
+        long seed
+) {
+
+    public static final String DEFAULT_PASSWORD = "Password1!";
+
+    public DatasetSpec {
+        if (users < 0 || medianFriends < 0 || maxFriends < 0) {
+            throw new IllegalArgumentException("Dataset sizes must not be negative");
+        }
+    }
+
+    public static DatasetSpec of(int users, int medianFriends) {
+        return new DatasetSpec("user", users, FriendCountDistribution.LOG_NORMAL, medianFriends, medianFriends * 20,
+                DEFAULT_PASSWORD, 42);
+    }
+}
@@ -0,0 +1,53 @@
+package com.krills.dataset;
+
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+// Loads a generated dataset on startup in dev and test builds when dataset.users is set, e.g.
+// ./mvnw quarkus:dev -Ddataset.users=100000. Never part of a production build
+@ApplicationScoped
+@UnlessBuildProfile("prod")
+public class DatasetStartup {
+
+    @Inject
+    DatasetLoader datasetLoader;
+
+    @ConfigProperty(name = "dataset.users", defaultValue = "0")
+    int users;
+
+    @ConfigProperty(name = "dataset.prefix", defaultValue = "user")
+    String prefix;
+
+    @ConfigProperty(name = "dataset.friends.distribution", defaultValue = "log-normal")
+    FriendCountDistribution distribution;
+
+    @ConfigProperty(name = "dataset.friends.median", defaultValue = "150")
+    int medianFriends;
+
+    @ConfigProperty(name = "dataset.friends.max", defaultValue = "5000")
+    int maxFriends;
+
+    @ConfigProperty(name = "dataset.seed", defaultValue = "42")
+    long seed;
+
+    void onStart(@Observes StartupEvent event) {
+        if (users <= 0) {
+            return;
+        }
+
+        DatasetSpec spec = new DatasetSpec(prefix, users, distribution, medianFriends, maxFriends,
+                DatasetSpec.DEFAULT_PASSWORD, seed);
+        // A file or MySQL database keeps the dataset across restarts
+        if (datasetLoader.isLoaded(spec)) {
+            Log.infof("Dataset %s* is already loaded", prefix);
+            return;
+        }
+        datasetLoader.load(spec);
+        Log.infof("Log in as %s0 ... %s%d with password %s", prefix, prefix, users - 1, DatasetSpec.DEFAULT_PASSWORD);
+    }
+}
@@ -0,0 +1,24 @@
+package com.krills.dataset;
+
+import java.util.random.RandomGenerator;
+
+// How many friends each generated user gets, around the configured median and never above the maximum
+public enum FriendCountDistribution {
+    // Everyone has the median
+    FIXED,
+    // Anything from 0 to twice the median
+    UNIFORM,
+    // Most users have a few dozen to a few hundred friends and a long tail has thousands
+    LOG_NORMAL;
+
+    private static final double LOG_NORMAL_SIGMA = 1.0;
+
+    int sample(RandomGenerator random, int median, int max) {
+        long count = switch (this) {
+            case FIXED -> median;
+            case UNIFORM -> random.nextInt(2 * median + 1);
+            case LOG_NORMAL -> Math.round(median * Math.exp(LOG_NORMAL_SIGMA * random.nextGaussian()));
+        };
+        return (int) Math.min(count, max);
+    }
+}
@@ -0,0 +1,109 @@
+package com.krills.dataset;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.UUID;
+
+// Buffers rows and writes them as "insert ... values (...), (...), ..." statements: one round trip and one statement
+// execution per chunk on every database, without relying on driver options such as rewriteBatchedStatements.
+// Rows referencing another table's rows name that insert as parent, which is flushed first
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final String prefix;
+    private final String rowPlaceholders;
+    private final int columns;
+    private final int rowsPerStatement;
+    private final boolean binaryUuids;
+    private final MultiRowInsert parent;
+
+    private final Object[] values;
+    private int rows;
+    private long written;
+    private PreparedStatement fullStatement;
+
+    MultiRowInsert(Connection connection, String table, String[] columns, int rowsPerStatement, boolean binaryUuids,
+                   MultiRowInsert parent) {
+        this.connection = connection;
+        this.prefix = "insert into " + table + " (" + String.join(", ", columns) + ") values ";
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        this.columns = columns.length;
+        this.rowsPerStatement = rowsPerStatement;
+        this.binaryUuids = binaryUuids;
+        this.parent = parent;
+        this.values = new Object[columns.length * rowsPerStatement];
+    }
+
+    void add(Object... row) throws SQLException {
+        System.arraycopy(row, 0, values, rows * columns, columns);
+        rows++;
+        if (rows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        if (parent != null) {
+            parent.flush();
+        }
+        if (rows == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullStatement);
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(sql(rows))) {
+                execute(statement);
+            }
+        }
+        written += rows;
+        rows = 0;
+    }
+
+    long written() {
+        return written;
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < rows * columns; i++) {
+            bind(statement, i + 1, values[i]);
+        }
+        statement.executeUpdate();
+    }
+
+    private void bind(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value instanceof UUID uuid && binaryUuids) {
+            // MySQL keeps UUIDs in binary(16), most significant bits first, as Hibernate writes them
+            statement.setBytes(index, ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array());
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private String sql(int rowCount) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rowCount * (rowPlaceholders.length() + 2)).append(prefix);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (fullStatement != null) {
+            fullStatement.close();
+        }
+    }
+}
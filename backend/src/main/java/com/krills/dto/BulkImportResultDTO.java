@@ -0,0 +1,17 @@
+package com.krills.dto;
+
+import java.util.List;
+
+public class BulkImportResultDTO {
+    public int imported;
+    public int failed;
+    public List<BulkImportRowDTO> rows;
+
+    public BulkImportResultDTO() {};
+
+    public BulkImportResultDTO(int imported, int failed, List<BulkImportRowDTO> rows) {
+        this.imported = imported;
+        this.failed = failed;
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,20 @@
+package com.krills.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class BulkImportRowDTO {
+    public int row;
+    public String status;
+    public UUID id;
+    public Map<String, String> errors;
+
+    public BulkImportRowDTO() {};
+
+    public BulkImportRowDTO(int row, String status, UUID id, Map<String, String> errors) {
+        this.row = row;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,13 @@
+package com.krills.dto;
+
+public class CalendarFeedDTO {
+    public String url;
+    public String token;
+
+    public CalendarFeedDTO() {};
+
+    public CalendarFeedDTO(String url, String token) {
+        this.url = url;
+        this.token = token;
+    }
+}
@@ -0,0 +1,35 @@
+package com.krills.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// A friend list as one array per field, so field names are written once instead of once per friend.
+// nextBirthday, daysUntilBirthday and isBirthdayToday are left out; clients derive them from birthDate and today
+// Serialized by CompactFriendListWriter rather than returned from a resource method, so it is registered by hand
+@RegisterForReflection
+public class FriendColumnsDTO {
+    public List<UUID> id;
+    public List<String> firstName;
+    public List<String> lastName;
+    public List<LocalDate> birthDate;
+
+    public FriendColumnsDTO() {};
+
+    public FriendColumnsDTO(List<FriendResponseDTO> friends) {
+        this.id = new ArrayList<>(friends.size());
+        this.firstName = new ArrayList<>(friends.size());
+        this.lastName = new ArrayList<>(friends.size());
+        this.birthDate = new ArrayList<>(friends.size());
+
+        for (FriendResponseDTO friend : friends) {
+            id.add(friend.id);
+            firstName.add(friend.firstName);
+            lastName.add(friend.lastName);
+            birthDate.add(friend.birthDate);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.krills.dto;
+
+import com.krills.entity.Friend;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+public class FriendCursor {
+    private static final String SEPARATOR = "\u0000";
+
+    public String lastName;
+    public String firstName;
+    public UUID id;
+
+    public FriendCursor(String lastName, String firstName, UUID id) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.id = id;
+    }
+
+    public static FriendCursor of(Friend friend) {
+        return new FriendCursor(friend.lastName, friend.firstName, friend.id);
+    }
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FriendCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new FriendCursor(parts[0], parts[1], UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new WebApplicationException("Invalid cursor", Response.Status.BAD_REQUEST);
+        }
+    }
+}
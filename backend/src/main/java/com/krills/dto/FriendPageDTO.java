@@ -0,0 +1,15 @@
+package com.krills.dto;
+
+import java.util.List;
+
+public class FriendPageDTO {
+    public List<FriendResponseDTO> items;
+    public String nextCursor;
+
+    public FriendPageDTO() {};
+
+    public FriendPageDTO(List<FriendResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
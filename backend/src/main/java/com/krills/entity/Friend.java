@@ -12,7 +12,11 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "friends")
+@Table(name = "friends", indexes = {
+        @Index(name = "idx_friends_user_birth_month_day", columnList = "user_id, birth_month_day"),
+        @Index(name = "idx_friends_user_name", columnList = "user_id, last_name, first_name"),
+        @Index(name = "idx_friends_birth_month_day", columnList = "birth_month_day, id")
+})
 public class Friend extends PanacheEntityBase {
     @Id
     @UuidGenerator
@@ -32,8 +36,23 @@ public class Friend extends PanacheEntityBase {
     @Column(name = "birth_date")
     public LocalDate birthDate;
 
+    // Birthday as month * 100 + day (e.g. 1231), kept in sync with birthDate so upcoming
+    // birthdays can be filtered and ordered by the database
+    @Column(name = "birth_month_day")
+    public Integer birthMonthDay;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     public User user;
+
+    @PrePersist
+    @PreUpdate
+    void syncBirthMonthDay() {
+        birthMonthDay = birthDate == null ? null : toMonthDay(birthDate);
+    }
+
+    public static int toMonthDay(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
 }
@@ -0,0 +1,35 @@
+package com.krills.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// One row per reminder handed to the sink; the unique key stops a restarted or concurrent run from sending it again
+@Entity
+@Table(name = "reminder_deliveries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reminder_deliveries", columnNames = {"friend_id", "occurs_on", "days_before"})
+}, indexes = {
+        @Index(name = "idx_reminder_deliveries_occurs_on", columnList = "occurs_on")
+})
+public class ReminderDelivery extends PanacheEntityBase {
+    @Id
+    @UuidGenerator
+    @Column(name = "id", updatable = false, nullable = false)
+    public UUID id;
+
+    @Column(name = "friend_id", nullable = false)
+    public UUID friendId;
+
+    @Column(name = "occurs_on", nullable = false)
+    public LocalDate occursOn;
+
+    @Column(name = "days_before", nullable = false)
+    public int daysBefore;
+
+    @Column(name = "claimed_at", nullable = false)
+    public Instant claimedAt;
+}
@@ -10,13 +10,17 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.hibernate.annotations.UuidGenerator;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+})
 @UserDefinition
 public class User extends PanacheEntityBase {
     @Id
@@ -26,12 +30,12 @@ public class User extends PanacheEntityBase {
 
     @Username
     @NotBlank
-    @Column(unique = true)
+    @Column(name = "username")
     public String username;
 
     @Email
     @NotBlank
-    @Column(unique = true)
+    @Column(name = "email")
     public String email;
 
     @Password
@@ -49,6 +53,18 @@ public class User extends PanacheEntityBase {
     @Column(name = "birth_date")
     public LocalDate birthDate;
 
+    // Bumped by every change to the profile or the friend list; see UserVersions
+    @Column(name = "data_version", nullable = false)
+    public long dataVersion;
+
+    // Set with every dataVersion bump; the Last-Modified of the calendar feed
+    @Column(name = "data_modified_at", nullable = false)
+    public Instant dataModifiedAt = Instant.now();
+
+    // Secret in the calendar feed URL, null until the user creates a feed
+    @Column(name = "calendar_token", unique = true)
+    public String calendarToken;
+
     @Roles
     @Column(name = "role")
     public String role = "user";
@@ -0,0 +1,19 @@
+package com.krills.exception;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Map;
+
+public class ConflictException extends WebApplicationException {
+    private final Map<String, String> errors;
+
+    public ConflictException(String field, String message) {
+        super(message, Response.Status.CONFLICT);
+        this.errors = Map.of(field, message);
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
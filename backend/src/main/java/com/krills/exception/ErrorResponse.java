@@ -1,8 +1,12 @@
 package com.krills.exception;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
 import java.time.LocalDateTime;
 import java.util.Map;
 
+// Only ever returned inside a Response, which the native build cannot see through
+@RegisterForReflection
 public class ErrorResponse {
     public String message;
     public int status;
@@ -3,10 +3,13 @@ package com.krills.exception;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -17,8 +20,25 @@ import java.util.stream.Collectors;
 @Provider
 public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
 
+    @Inject
+    MeterRegistry registry;
+
     @Override
     public Response toResponse(Exception exception) {
+        Response response = map(exception);
+
+        registry.counter("api.errors",
+                "type", exception.getClass().getSimpleName(),
+                "status", String.valueOf(response.getStatus())
+        ).increment();
+
+        // ErrorResponse is always JSON, even when the endpoint negotiated a compact friend list format
+        return Response.fromResponse(response)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .build();
+    }
+
+    private Response map(Exception exception) {
 
         Throwable cause = exception.getCause();
 
@@ -38,6 +58,8 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
             return handleJsonMappingException((JsonMappingException) cause);
         } else if (exception instanceof NotFoundException) {
             return handleNotFound((NotFoundException) exception);
+        } else if (exception instanceof ConflictException) {
+            return handleConflict((ConflictException) exception);
         } else if (exception instanceof WebApplicationException) {
             return handleWebApplicationException((WebApplicationException) exception);
         } else {
@@ -120,6 +142,18 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
                 .build();
     }
 
+    private Response handleConflict(ConflictException exception) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                exception.getMessage(),
+                Response.Status.CONFLICT.getStatusCode(),
+                exception.getErrors()
+        );
+
+        return Response.status(Response.Status.CONFLICT)
+                .entity(errorResponse)
+                .build();
+    }
+
     private Response handleWebApplicationException(WebApplicationException exception) {
         String message = exception.getMessage();
         int status = exception.getResponse().getStatus();
@@ -130,7 +164,9 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
                 null
         );
 
+        // Keep headers such as Retry-After set on the original response
         return Response.status(status)
+                .replaceAll(exception.getResponse().getHeaders())
                 .entity(errorResponse)
                 .build();
     }
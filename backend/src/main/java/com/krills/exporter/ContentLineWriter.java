@@ -0,0 +1,51 @@
+package com.krills.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// iCalendar (RFC 5545) and vCard (RFC 6350) share the content line format: CRLF line endings, lines longer than
+// 75 octets folded, and TEXT values with backslash, semicolon, comma and newlines escaped
+abstract class ContentLineWriter extends FriendRowWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+
+    ContentLineWriter(OutputStream output) {
+        super(output);
+    }
+
+    static String text(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Continuation lines start with a space; a fold never splits a UTF-8 sequence or a surrogate pair
+    void line(String content) throws IOException {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > limit) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            writer.write(content, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(CRLF);
+    }
+}
@@ -0,0 +1,42 @@
+package com.krills.exporter;
+
+import com.krills.dto.FriendResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes the columns firstName,lastName,birthDate (ISO yyyy-MM-dd) under a header line, as CsvFriendReader imports
+// them. Fields with a comma, quote or line break are quoted (RFC 4180)
+public class CsvFriendWriter extends FriendRowWriter {
+
+    private static final String CRLF = "\r\n";
+
+    public CsvFriendWriter(OutputStream output) {
+        super(output);
+    }
+
+    @Override
+    public void start() throws IOException {
+        writer.write("firstName,lastName,birthDate" + CRLF);
+    }
+
+    @Override
+    public void write(FriendResponseDTO friend) throws IOException {
+        field(friend.firstName);
+        writer.write(',');
+        field(friend.lastName);
+        writer.write(',');
+        writer.write(friend.birthDate.toString());
+        writer.write(CRLF);
+    }
+
+    private void field(String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,30 @@
+package com.krills.exporter;
+
+import com.krills.dto.FriendResponseDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes friends to the response as they are read from the database, so an export never holds the whole list.
+// Output is buffered, so a client that went away surfaces as an IOException within a few kilobytes
+public abstract class FriendRowWriter {
+
+    protected final Writer writer;
+
+    protected FriendRowWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    public void start() throws IOException {
+    }
+
+    public abstract void write(FriendResponseDTO friend) throws IOException;
+
+    public void finish() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,59 @@
+package com.krills.exporter;
+
+import com.krills.dto.FriendResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// Writes an iCalendar (RFC 5545) feed with one all-day, yearly recurring VEVENT per friend, as the rows arrive.
+// Feb 29 birthdays recur on the last day of February, like BirthdayCalendar celebrates them on Feb 28 in other years
+public class IcsFriendWriter extends ContentLineWriter {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final String stamp;
+
+    // DTSTAMP is the feed's Last-Modified, so an unchanged feed is byte-for-byte identical
+    public IcsFriendWriter(OutputStream output, Instant modifiedAt) {
+        super(output);
+        this.stamp = TIMESTAMP.format(modifiedAt);
+    }
+
+    @Override
+    public void start() throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Krills//Birthday Tracker//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:Birthdays");
+        // Asks clients to poll hourly; each poll is answered with a 304 until a friend changes
+        line("REFRESH-INTERVAL;VALUE=DURATION:PT1H");
+        line("X-PUBLISHED-TTL:PT1H");
+    }
+
+    @Override
+    public void write(FriendResponseDTO friend) throws IOException {
+        boolean leapDay = friend.birthDate.getMonthValue() == 2 && friend.birthDate.getDayOfMonth() == 29;
+
+        line("BEGIN:VEVENT");
+        line("UID:" + friend.id + "@birthday-tracker");
+        line("DTSTAMP:" + stamp);
+        line("DTSTART;VALUE=DATE:" + DATE.format(friend.birthDate));
+        line(leapDay ? "RRULE:FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=-1" : "RRULE:FREQ=YEARLY");
+        line("SUMMARY:" + text(friend.firstName + " " + friend.lastName + "'s birthday"));
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        line("END:VCALENDAR");
+        super.finish();
+    }
+}
@@ -0,0 +1,28 @@
+package com.krills.exporter;
+
+import com.krills.dto.FriendResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+
+// Writes one vCard 4.0 (RFC 6350) per friend with N, FN and BDAY, the properties VCardFriendReader imports
+public class VCardFriendWriter extends ContentLineWriter {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    public VCardFriendWriter(OutputStream output) {
+        super(output);
+    }
+
+    @Override
+    public void write(FriendResponseDTO friend) throws IOException {
+        line("BEGIN:VCARD");
+        line("VERSION:4.0");
+        line("UID:urn:uuid:" + friend.id);
+        line("FN:" + text(friend.firstName + " " + friend.lastName));
+        line("N:" + text(friend.lastName) + ";" + text(friend.firstName) + ";;;");
+        line("BDAY:" + DATE.format(friend.birthDate));
+        line("END:VCARD");
+    }
+}
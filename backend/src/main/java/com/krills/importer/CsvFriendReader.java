@@ -0,0 +1,86 @@
+package com.krills.importer;
+
+import com.krills.dto.FriendRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Expects the columns firstName,lastName,birthDate (ISO yyyy-MM-dd), with an optional header line
+public class CsvFriendReader extends FriendRowReader {
+
+    private final BufferedReader reader;
+    private int row;
+
+    public CsvFriendReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected FriendImportRow readNext() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> columns = split(line);
+        if (row == 0 && "firstname".equalsIgnoreCase(columns.get(0).strip())) {
+            return readNext();
+        }
+
+        row++;
+        if (columns.size() != 3) {
+            return FriendImportRow.failed(row, "Expected 3 columns: firstName,lastName,birthDate");
+        }
+
+        FriendRequestDTO friend = new FriendRequestDTO();
+        friend.firstName = columns.get(0).strip();
+        friend.lastName = columns.get(1).strip();
+        try {
+            friend.birthDate = LocalDate.parse(columns.get(2).strip());
+        } catch (DateTimeParseException e) {
+            return FriendImportRow.failed(row, "Invalid birthDate: " + columns.get(2));
+        }
+
+        return FriendImportRow.parsed(row, friend);
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString());
+
+        return columns;
+    }
+}
@@ -0,0 +1,23 @@
+package com.krills.importer;
+
+import com.krills.dto.FriendRequestDTO;
+
+public class FriendImportRow {
+    public final int row;
+    public final FriendRequestDTO friend;
+    public final String error;
+
+    public FriendImportRow(int row, FriendRequestDTO friend, String error) {
+        this.row = row;
+        this.friend = friend;
+        this.error = error;
+    }
+
+    public static FriendImportRow parsed(int row, FriendRequestDTO friend) {
+        return new FriendImportRow(row, friend, null);
+    }
+
+    public static FriendImportRow failed(int row, String error) {
+        return new FriendImportRow(row, null, error);
+    }
+}
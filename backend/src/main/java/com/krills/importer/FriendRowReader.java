@@ -0,0 +1,39 @@
+package com.krills.importer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Reads one row at a time off the body, so importFriends can stop at the first row past the import limit without
+// parsing the rest of an oversized upload
+public abstract class FriendRowReader implements Iterator<FriendImportRow> {
+
+    private FriendImportRow next;
+    private boolean done;
+
+    protected abstract FriendImportRow readNext() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public FriendImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        FriendImportRow row = next;
+        next = null;
+        return row;
+    }
+}
@@ -0,0 +1,54 @@
+package com.krills.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krills.dto.FriendRequestDTO;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+public class JsonFriendReader extends FriendRowReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private int row;
+
+    public JsonFriendReader(ObjectMapper objectMapper, InputStream input) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new WebApplicationException("Expected a JSON array of friends", Response.Status.BAD_REQUEST);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected FriendImportRow readNext() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+
+        row++;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return FriendImportRow.failed(row, "Expected a JSON object");
+        }
+
+        JsonNode node = objectMapper.readTree(parser);
+        try {
+            return FriendImportRow.parsed(row, objectMapper.treeToValue(node, FriendRequestDTO.class));
+        } catch (JsonProcessingException e) {
+            return FriendImportRow.failed(row, "Invalid friend: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.krills.importer;
+
+import com.krills.dto.FriendRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads N (or FN) and BDAY from each BEGIN:VCARD ... END:VCARD block, one row per card
+public class VCardFriendReader extends FriendRowReader {
+
+    private final BufferedReader reader;
+    private String pending;
+    private int row;
+
+    public VCardFriendReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected FriendImportRow readNext() throws IOException {
+        String line;
+        while ((line = readUnfoldedLine()) != null && !line.equalsIgnoreCase("BEGIN:VCARD")) {
+            // Skip anything between cards
+        }
+        if (line == null) {
+            return null;
+        }
+
+        row++;
+        String name = null;
+        String formattedName = null;
+        String birthday = null;
+
+        while ((line = readUnfoldedLine()) != null && !line.equalsIgnoreCase("END:VCARD")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+
+            String property = line.substring(0, colon).split(";", 2)[0].toUpperCase();
+            String value = line.substring(colon + 1).strip();
+            switch (property) {
+                case "N" -> name = value;
+                case "FN" -> formattedName = value;
+                case "BDAY" -> birthday = value;
+                default -> {
+                }
+            }
+        }
+
+        FriendRequestDTO friend = new FriendRequestDTO();
+        if (name != null && !name.isBlank()) {
+            List<String> parts = components(name);
+            friend.lastName = parts.get(0).strip();
+            friend.firstName = parts.size() > 1 ? parts.get(1).strip() : null;
+        } else if (formattedName != null) {
+            formattedName = String.join(";", components(formattedName));
+            int space = formattedName.lastIndexOf(' ');
+            friend.firstName = space > 0 ? formattedName.substring(0, space).strip() : formattedName;
+            friend.lastName = space > 0 ? formattedName.substring(space + 1).strip() : null;
+        }
+
+        if (birthday == null) {
+            return FriendImportRow.failed(row, "Missing BDAY");
+        }
+        try {
+            friend.birthDate = parseBirthday(birthday);
+        } catch (DateTimeParseException e) {
+            return FriendImportRow.failed(row, "Invalid BDAY: " + birthday);
+        }
+
+        return FriendImportRow.parsed(row, friend);
+    }
+
+    // Splits a TEXT value on unescaped semicolons (N has family;given;...) and unescapes each component:
+    // \\, \; \, and \n as written by VCardFriendWriter
+    private static List<String> components(String value) {
+        List<String> components = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                current.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else if (c == ';') {
+                components.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        components.add(current.toString());
+        return components;
+    }
+
+    private static LocalDate parseBirthday(String value) {
+        String date = value.split("T", 2)[0];
+        if (date.length() == 8 && !date.contains("-")) {
+            return LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+        }
+        return LocalDate.parse(date);
+    }
+
+    // vCard folds long lines by starting the continuation with a space or tab
+    private String readUnfoldedLine() throws IOException {
+        String line = pending != null ? pending : reader.readLine();
+        pending = null;
+        if (line == null) {
+            return null;
+        }
+
+        StringBuilder unfolded = new StringBuilder(line);
+        String next;
+        while ((next = reader.readLine()) != null && (next.startsWith(" ") || next.startsWith("\t"))) {
+            unfolded.append(next, 1, next.length());
+        }
+        pending = next;
+
+        return unfolded.toString().strip();
+    }
+}
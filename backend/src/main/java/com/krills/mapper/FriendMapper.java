@@ -1,16 +1,18 @@
 package com.krills.mapper;
 
+import com.krills.birthday.BirthdayCalendar;
 import com.krills.dto.FriendRequestDTO;
 import com.krills.dto.FriendResponseDTO;
 import com.krills.entity.Friend;
 import jakarta.enterprise.context.ApplicationScoped;
-
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import jakarta.inject.Inject;
 
 @ApplicationScoped
 public class FriendMapper {
 
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
     public Friend toEntity(FriendRequestDTO dto) {
         if (dto == null) {
             return null;
@@ -35,28 +37,10 @@ public class FriendMapper {
         dto.lastName = friend.lastName;
         dto.birthDate = friend.birthDate;
 
-        LocalDate today = LocalDate.now();
-        LocalDate nextBirthday = friend.birthDate.withYear(today.getYear());
-
-        // Check if birthday is today
-        if (nextBirthday.isEqual(today)) {
-            dto.isBirthdayToday = true;
-            dto.daysUntilBirthday = 0;
-            dto.nextBirthday = today;
-        }
-        // If birthday already passed this year, calculate for next year
-        else if (nextBirthday.isBefore(today)) {
-            dto.isBirthdayToday = false;
-            nextBirthday = nextBirthday.plusYears(1);
-            dto.nextBirthday = nextBirthday;
-            dto.daysUntilBirthday = (int) ChronoUnit.DAYS.between(today, nextBirthday);
-        }
-        // Birthday is upcoming this year
-        else {
-            dto.isBirthdayToday = false;
-            dto.nextBirthday = nextBirthday;
-            dto.daysUntilBirthday = (int) ChronoUnit.DAYS.between(today, nextBirthday);
-        }
+        int ordinal = BirthdayCalendar.ordinal(friend.birthDate);
+        dto.daysUntilBirthday = birthdayCalendar.daysUntilBirthday(ordinal);
+        dto.nextBirthday = birthdayCalendar.nextBirthday(ordinal);
+        dto.isBirthdayToday = birthdayCalendar.isBirthdayToday(ordinal);
 
         return dto;
     }
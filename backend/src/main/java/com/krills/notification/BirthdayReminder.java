@@ -0,0 +1,34 @@
+package com.krills.notification;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Built by a "select new" query, which needs nothing but the constructor
+@RegisterForReflection(fields = false, methods = false)
+public class BirthdayReminder {
+    public final UUID friendId;
+    public final UUID userId;
+    public final String userEmail;
+    public final String firstName;
+    public final String lastName;
+    public final LocalDate birthDate;
+
+    public LocalDate occursOn;
+    public int daysBefore;
+
+    public BirthdayReminder(UUID friendId, UUID userId, String userEmail, String firstName, String lastName, LocalDate birthDate) {
+        this.friendId = friendId;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+    }
+
+    public String message() {
+        String when = daysBefore == 0 ? "today" : "in " + daysBefore + (daysBefore == 1 ? " day" : " days") + " (" + occursOn + ")";
+        return firstName + " " + lastName + "'s birthday is " + when;
+    }
+}
@@ -0,0 +1,184 @@
+package com.krills.notification;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.entity.Friend;
+import com.krills.repository.FriendRepository;
+import com.krills.repository.ReminderDeliveryRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.literal.NamedLiteral;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pages through the friends whose birthday is due with a keyset on id and hands each page to a worker, which
+// claims it in reminder_deliveries before passing it to the sink
+@ApplicationScoped
+public class BirthdayReminderJob {
+
+    private static final int KEEP_DELIVERIES_DAYS = 30;
+
+    @Inject
+    FriendRepository friendRepository;
+
+    @Inject
+    ReminderDeliveryRepository deliveryRepository;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    @Inject
+    @Any
+    Instance<ReminderSink> sinks;
+
+    @ConfigProperty(name = "reminders.days-before", defaultValue = "0")
+    List<Integer> daysBefore;
+
+    @ConfigProperty(name = "reminders.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "reminders.workers", defaultValue = "4")
+    int workers;
+
+    @ConfigProperty(name = "reminders.sink", defaultValue = "log")
+    String sinkName;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        // A full queue makes the reader process the page itself, so pages are never read faster than they are sent
+        executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "birthday-reminder-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "{reminders.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void run() {
+        LocalDate today = birthdayCalendar.today();
+        ReminderSink sink = sinks.select(NamedLiteral.of(sinkName)).get();
+
+        QuarkusTransaction.requiringNew().run(() -> deliveryRepository.deleteBefore(today.minusDays(KEEP_DELIVERIES_DAYS)));
+
+        for (int days : daysBefore) {
+            int sent = remind(today.plusDays(days), days, sink);
+            Log.infof("Sent %d birthday reminders for %s (%d days ahead)", sent, today.plusDays(days), days);
+        }
+    }
+
+    int remind(LocalDate occursOn, int days, ReminderSink sink) {
+        List<Integer> monthDays = new ArrayList<>(List.of(Friend.toMonthDay(occursOn)));
+
+        // Feb 29 birthdays are celebrated on Feb 28 in non-leap years
+        if (occursOn.getMonthValue() == 2 && occursOn.getDayOfMonth() == 28 && !occursOn.isLeapYear()) {
+            monthDays.add(229);
+        }
+
+        List<Future<Integer>> pages = new ArrayList<>();
+        UUID after = null;
+        List<BirthdayReminder> page;
+        do {
+            UUID pageAfter = after;
+            page = QuarkusTransaction.requiringNew().call(
+                    () -> friendRepository.findReminderPage(monthDays, occursOn, days, pageAfter, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (BirthdayReminder reminder : page) {
+                reminder.occursOn = occursOn;
+                reminder.daysBefore = days;
+            }
+
+            List<BirthdayReminder> batch = page;
+            pages.add(executor.submit(() -> deliver(batch, occursOn, days, sink)));
+            after = page.get(page.size() - 1).friendId;
+        } while (page.size() == batchSize);
+
+        int sent = 0;
+        for (Future<Integer> future : pages) {
+            try {
+                sent += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return sent;
+            } catch (ExecutionException e) {
+                Log.error("Birthday reminder batch failed", e.getCause());
+            }
+        }
+        return sent;
+    }
+
+    private int deliver(List<BirthdayReminder> batch, LocalDate occursOn, int days, ReminderSink sink) {
+        List<BirthdayReminder> claimed = claim(batch);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.send(claimed);
+            return claimed.size();
+        } catch (RuntimeException e) {
+            QuarkusTransaction.requiringNew().run(() -> deliveryRepository.release(claimed, occursOn, days));
+            throw e;
+        }
+    }
+
+    // Claims the page in one transaction. If another instance got to some of its rows first, the unique key
+    // rolls that back, and each row is then claimed in its own transaction so only the taken ones are left out
+    List<BirthdayReminder> claim(List<BirthdayReminder> batch) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> deliveryRepository.claim(batch));
+            return batch;
+        } catch (PersistenceException e) {
+            Log.debugf("Some of a page of %d reminders were claimed elsewhere, claiming row by row", batch.size());
+        }
+
+        List<BirthdayReminder> claimed = new ArrayList<>(batch.size());
+        for (BirthdayReminder reminder : batch) {
+            try {
+                QuarkusTransaction.requiringNew().run(() -> deliveryRepository.claim(List.of(reminder)));
+                claimed.add(reminder);
+            } catch (PersistenceException e) {
+                // Claimed by another instance, which sends it
+            }
+        }
+
+        if (claimed.size() < batch.size()) {
+            Log.infof("Skipped %d of %d reminders already claimed elsewhere", batch.size() - claimed.size(), batch.size());
+        }
+        return claimed;
+    }
+}
@@ -0,0 +1,41 @@
+package com.krills.notification;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+@Named("file")
+public class FileReminderSink implements ReminderSink {
+
+    @ConfigProperty(name = "reminders.file-path", defaultValue = "reminders.log")
+    Path path;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public void send(List<BirthdayReminder> reminders) {
+        String lines = reminders.stream()
+                .map(reminder -> reminder.occursOn + "\t" + reminder.userId + "\t" + reminder.friendId + "\t" + reminder.message())
+                .collect(Collectors.joining("\n", "", "\n"));
+
+        lock.lock();
+        try {
+            Files.writeString(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
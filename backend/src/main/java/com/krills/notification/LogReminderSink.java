@@ -0,0 +1,19 @@
+package com.krills.notification;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+
+import java.util.List;
+
+@ApplicationScoped
+@Named("log")
+public class LogReminderSink implements ReminderSink {
+
+    @Override
+    public void send(List<BirthdayReminder> reminders) {
+        for (BirthdayReminder reminder : reminders) {
+            Log.infof("Reminder for user %s: %s", reminder.userId, reminder.message());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.krills.notification;
+
+import java.util.List;
+
+public interface ReminderSink {
+
+    void send(List<BirthdayReminder> reminders);
+}
@@ -0,0 +1,30 @@
+package com.krills.notification;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Named;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Stand-in for an SMTP sink: builds one digest mail per user and logs it instead of sending it
+@ApplicationScoped
+@Named("smtp")
+public class SmtpReminderSink implements ReminderSink {
+
+    @Override
+    public void send(List<BirthdayReminder> reminders) {
+        Map<UUID, List<BirthdayReminder>> byUser = reminders.stream()
+                .collect(Collectors.groupingBy(reminder -> reminder.userId));
+
+        byUser.values().forEach(userReminders -> {
+            String body = userReminders.stream()
+                    .map(BirthdayReminder::message)
+                    .collect(Collectors.joining("\n"));
+
+            Log.infof("To: %s%nSubject: Upcoming birthdays%n%n%s", userReminders.get(0).userEmail, body);
+        });
+    }
+}
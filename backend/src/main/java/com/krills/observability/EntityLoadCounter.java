@@ -0,0 +1,24 @@
+package com.krills.observability;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+@PersistenceUnitExtension
+@ApplicationScoped
+public class EntityLoadCounter implements Interceptor {
+
+    @Inject
+    RequestQueryStats stats;
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        if (Arc.container().requestContext().isActive()) {
+            stats.entityLoad();
+        }
+        return false;
+    }
+}
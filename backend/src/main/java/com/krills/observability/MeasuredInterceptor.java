@@ -0,0 +1,53 @@
+package com.krills.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+// Interceptors with a lower priority run first. At PLATFORM_BEFORE + 100 this one wraps the @Transactional
+// interceptor (PLATFORM_BEFORE + 200), so the recorded time includes the commit
+@Measured
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class MeasuredInterceptor {
+
+    static final String SERVICE_CALLS = "service.calls";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Tracer tracer;
+
+    @AroundInvoke
+    Object measure(InvocationContext context) throws Exception {
+        String className = context.getMethod().getDeclaringClass().getSimpleName();
+        String methodName = context.getMethod().getName();
+
+        Span span = tracer.spanBuilder(className + "." + methodName).startSpan();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try (Scope ignored = span.makeCurrent()) {
+            return context.proceed();
+        } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            sample.stop(registry.timer(SERVICE_CALLS,
+                    "class", className,
+                    "method", methodName,
+                    "exception", exception));
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.krills.observability;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import java.util.Set;
+
+public class MetricsConfiguration {
+
+    // Timers published as Prometheus histograms, so percentiles can be aggregated across instances
+    private static final Set<String> HISTOGRAMS = Set.of(
+            "http.server.requests",
+            MeasuredInterceptor.SERVICE_CALLS,
+            "password.hashing"
+    );
+
+    @Produces
+    @Singleton
+    public MeterFilter histograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAMS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
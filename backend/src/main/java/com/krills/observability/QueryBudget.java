@@ -0,0 +1,17 @@
+package com.krills.observability;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum number of JDBC statements one request to the annotated endpoint may issue, checked by QueryBudgetFilter.
+// Endpoints without it get query-budget.default
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
@@ -0,0 +1,97 @@
+package com.krills.observability;
+
+import com.krills.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+// Records the statements and entity loads of each request and checks them against the endpoint's @QueryBudget.
+// Streamed bodies are written after this filter runs, so their statements are not counted and streaming endpoints
+// are declared QueryBudget.UNLIMITED
+@Provider
+public class QueryBudgetFilter implements ContainerResponseFilter {
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    @Inject
+    RequestQueryStats stats;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @ConfigProperty(name = "query-budget.mode", defaultValue = "warn")
+    Mode mode;
+
+    @ConfigProperty(name = "query-budget.default", defaultValue = "10")
+    int defaultBudget;
+
+    @ConfigProperty(name = "query-budget.repeated-select-threshold", defaultValue = "5")
+    int repeatedSelectThreshold;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Method method = resourceInfo.getResourceMethod();
+        if (mode == Mode.OFF || method == null) {
+            return;
+        }
+
+        String endpoint = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        int statements = stats.statements();
+        int entityLoads = stats.entityLoads();
+
+        registry.summary("http.server.requests.statements", "endpoint", endpoint).record(statements);
+        registry.summary("http.server.requests.entity.loads", "endpoint", endpoint).record(entityLoads);
+        Log.debugf("%s %s: %d statements, %d entity loads",
+                requestContext.getMethod(), requestContext.getUriInfo().getPath(), statements, entityLoads);
+
+        QueryBudget annotation = method.getAnnotation(QueryBudget.class);
+        int budget = annotation != null ? annotation.value() : defaultBudget;
+
+        String violation = null;
+        if (statements > budget) {
+            violation = String.format("%s issued %d statements, budget is %d", endpoint, statements, budget);
+        } else {
+            Map.Entry<String, Integer> repeated = stats.mostRepeatedSelect();
+            if (repeated != null && repeated.getValue() >= repeatedSelectThreshold) {
+                violation = String.format("%s ran the same select %d times, possible N+1: %s",
+                        endpoint, repeated.getValue(), repeated.getKey());
+            }
+        }
+
+        if (violation == null) {
+            return;
+        }
+
+        registry.counter("http.server.requests.query.budget.exceeded", "endpoint", endpoint).increment();
+        if (mode == Mode.WARN) {
+            Log.warn(violation);
+            return;
+        }
+
+        Log.error(violation);
+        responseContext.setStatus(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+        responseContext.setEntity(
+                new ErrorResponse(violation, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), null),
+                new Annotation[0],
+                MediaType.APPLICATION_JSON_TYPE
+        );
+    }
+}
@@ -0,0 +1,41 @@
+package com.krills.observability;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Statements and entity loads of the current request, filled by StatementCounter and EntityLoadCounter
+@RequestScoped
+public class RequestQueryStats {
+
+    private int statements;
+    private int entityLoads;
+    private final Map<String, Integer> selects = new HashMap<>();
+
+    void statement(String sql) {
+        statements++;
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void entityLoad() {
+        entityLoads++;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    // The same select issued again and again in one request is the usual shape of an N+1
+    public Map.Entry<String, Integer> mostRepeatedSelect() {
+        return selects.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.krills.observability;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts every statement Hibernate prepares; outside a request (scheduler, startup) nothing is recorded
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementCounter implements StatementInspector {
+
+    @Inject
+    RequestQueryStats stats;
+
+    @Override
+    public String inspect(String sql) {
+        if (Arc.container().requestContext().isActive()) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+}
@@ -1,16 +1,112 @@
 package com.krills.repository;
 
+import com.krills.dto.FriendCursor;
 import com.krills.entity.Friend;
+import com.krills.notification.BirthdayReminder;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 @ApplicationScoped
 public class FriendRepository implements PanacheRepositoryBase<Friend, UUID> {
 
+    private static final Sort BIRTHDAY_ORDER = Sort.by("birthMonthDay")
+            .and("lastName")
+            .and("firstName")
+            .and("id");
+
+    private static final Sort NAME_ORDER = Sort.by("lastName")
+            .and("firstName")
+            .and("id");
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
     public List<Friend> findByUserId(UUID userId) {
         return list("user.id", userId);
     }
+
+    public List<Friend> findPageByUserId(UUID userId, FriendCursor after, int limit) {
+        PanacheQuery<Friend> query = after == null
+                ? find("user.id", NAME_ORDER, userId)
+                : find("user.id = ?1 and (lastName > ?2 or (lastName = ?2 and (firstName > ?3 "
+                        + "or (firstName = ?3 and id > ?4))))",
+                NAME_ORDER,
+                userId, after.lastName, after.firstName, after.id);
+
+        return query.range(0, limit - 1).list();
+    }
+
+    // Forward-only cursor over the user's friends in name order, fetched STREAM_FETCH_SIZE rows at a time. The rows
+    // are read-only and bypass the second-level cache. MySQL only honours the fetch size with useCursorFetch=true
+    // on the JDBC URL; without it the driver reads the whole result into memory first
+    public ScrollableResults<Friend> scrollByUserId(UUID userId) {
+        return getEntityManager().unwrap(Session.class)
+                .createSelectionQuery("from Friend where user.id = :userId order by lastName, firstName, id", Friend.class)
+                .setParameter("userId", userId)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(STREAM_FETCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    public List<Friend> findByBirthMonthDayBetween(UUID userId, int fromMonthDay, int toMonthDay, Integer limit) {
+        PanacheQuery<Friend> query = find(
+                "user.id = ?1 and birthMonthDay between ?2 and ?3",
+                BIRTHDAY_ORDER,
+                userId, fromMonthDay, toMonthDay
+        );
+
+        return limit != null ? query.range(0, limit - 1).list() : query.list();
+    }
+
+    public List<Friend> findByBirthMonthDay(UUID userId, int monthDay) {
+        return list("user.id = ?1 and birthMonthDay = ?2", userId, monthDay);
+    }
+
+    // Bulk statements skip @PreUpdate, so birthMonthDay is set here
+    public int updateOwned(UUID userId, UUID friendId, String firstName, String lastName, LocalDate birthDate) {
+        return update("firstName = ?1, lastName = ?2, birthDate = ?3, birthMonthDay = ?4 where id = ?5 and user.id = ?6",
+                firstName, lastName, birthDate, Friend.toMonthDay(birthDate), friendId, userId);
+    }
+
+    public long deleteOwned(UUID userId, UUID friendId) {
+        return delete("id = ?1 and user.id = ?2", friendId, userId);
+    }
+
+    public long deleteByUserId(UUID userId) {
+        return delete("user.id", userId);
+    }
+
+    public List<BirthdayReminder> findReminderPage(List<Integer> monthDays, LocalDate occursOn, int daysBefore,
+                                                   UUID after, int limit) {
+        String query = "select new com.krills.notification.BirthdayReminder("
+                + "f.id, f.user.id, f.user.email, f.firstName, f.lastName, f.birthDate) "
+                + "from Friend f "
+                + "where f.birthMonthDay in :monthDays "
+                + (after != null ? "and f.id > :after " : "")
+                + "and not exists (select 1 from ReminderDelivery d "
+                + "where d.friendId = f.id and d.occursOn = :occursOn and d.daysBefore = :daysBefore) "
+                + "order by f.id";
+
+        TypedQuery<BirthdayReminder> typedQuery = getEntityManager().createQuery(query, BirthdayReminder.class)
+                .setParameter("monthDays", monthDays)
+                .setParameter("occursOn", occursOn)
+                .setParameter("daysBefore", daysBefore)
+                .setMaxResults(limit);
+        if (after != null) {
+            typedQuery.setParameter("after", after);
+        }
+
+        return typedQuery.getResultList();
+    }
 }
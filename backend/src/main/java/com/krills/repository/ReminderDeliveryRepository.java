@@ -0,0 +1,40 @@
+package com.krills.repository;
+
+import com.krills.entity.ReminderDelivery;
+import com.krills.notification.BirthdayReminder;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class ReminderDeliveryRepository implements PanacheRepositoryBase<ReminderDelivery, UUID> {
+
+    public void claim(List<BirthdayReminder> reminders) {
+        Instant now = Instant.now();
+        for (BirthdayReminder reminder : reminders) {
+            ReminderDelivery delivery = new ReminderDelivery();
+            delivery.friendId = reminder.friendId;
+            delivery.occursOn = reminder.occursOn;
+            delivery.daysBefore = reminder.daysBefore;
+            delivery.claimedAt = now;
+            persist(delivery);
+        }
+        flush();
+    }
+
+    public long release(List<BirthdayReminder> reminders, LocalDate occursOn, int daysBefore) {
+        List<UUID> friendIds = reminders.stream()
+                .map(reminder -> reminder.friendId)
+                .toList();
+
+        return delete("friendId in ?1 and occursOn = ?2 and daysBefore = ?3", friendIds, occursOn, daysBefore);
+    }
+
+    public long deleteBefore(LocalDate date) {
+        return delete("occursOn < ?1", date);
+    }
+}
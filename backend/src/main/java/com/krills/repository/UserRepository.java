@@ -1,9 +1,11 @@
 package com.krills.repository;
 
 import com.krills.entity.User;
+import com.krills.service.CalendarFeed;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,11 +16,44 @@ public class UserRepository implements PanacheRepositoryBase<User, UUID> {
         return find("username", username).firstResultOptional();
     }
 
-    public boolean existsByUsername(String username) {
-        return count("username", username) > 0;
+    // Which of the two unique fields is already taken, in one query
+    public Optional<String> findTakenField(String username, String email) {
+        return find("username = ?1 or email = ?2", username, email).firstResultOptional()
+                .map(user -> user.username.equalsIgnoreCase(username) ? "username" : "email");
     }
 
-    public boolean existsByEmail(String email) {
-        return count("email", email) > 0;
+    // Bulk delete; unlike delete(entity) it does not load the friends collection to cascade
+    public boolean deleteUser(UUID id) {
+        return delete("id", id) > 0;
+    }
+
+    public Optional<Long> findDataVersion(UUID id) {
+        return getEntityManager()
+                .createQuery("select u.dataVersion from User u where u.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public int incrementDataVersion(UUID id, Instant modifiedAt) {
+        return update("dataVersion = dataVersion + 1, dataModifiedAt = ?2 where id = ?1", id, modifiedAt);
+    }
+
+    // Everything a calendar feed poll needs to answer 304, in one unique index lookup
+    public Optional<CalendarFeed> findCalendarFeed(String token) {
+        return getEntityManager()
+                .createQuery("select new com.krills.service.CalendarFeed(u.id, u.dataVersion, u.dataModifiedAt) "
+                        + "from User u where u.calendarToken = :token", CalendarFeed.class)
+                .setParameter("token", token)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public int updateCalendarToken(UUID id, String token) {
+        return update("calendarToken = ?1 where id = ?2", token, id);
+    }
+
+    public int updatePassword(UUID id, String password) {
+        return update("password = ?1 where id = ?2", password, id);
     }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package com.krills.resource;
 import com.krills.dto.AuthRequestDTO;
 import com.krills.dto.AuthResponseDTO;
 import com.krills.dto.RegisterRequestDTO;
+import com.krills.observability.QueryBudget;
 import com.krills.service.AuthService;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -15,6 +18,8 @@ import jakarta.ws.rs.core.MediaType;
 @Path("/api/auth")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@UnlessBuildProperty(name = "persistence.mode", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
 public class AuthResource {
 
     @Inject
@@ -22,12 +27,14 @@ public class AuthResource {
 
     @POST
     @Path("/register")
+    @QueryBudget(2)
     public AuthResponseDTO register(@Valid RegisterRequestDTO request) {
         return authService.register(request);
     }
 
     @POST
     @Path("/login")
+    @QueryBudget(2)
     public AuthResponseDTO login(@Valid AuthRequestDTO request) {
         return authService.login(request);
     }
@@ -0,0 +1,50 @@
+package com.krills.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.krills.dto.FriendColumnsDTO;
+import com.krills.dto.FriendResponseDTO;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Writes friend lists as FriendColumnsDTO in columnar JSON or CBOR; only friend list endpoints produce these types
+@Provider
+@Produces({FriendListFormat.COLUMNAR_JSON_TYPE, FriendListFormat.CBOR_TYPE})
+public class CompactFriendListWriter implements MessageBodyWriter<List<FriendResponseDTO>> {
+
+    private static final ObjectMapper CBOR_MAPPER = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return List.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(List<FriendResponseDTO> friends, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        ObjectMapper mapper = FriendListFormat.CBOR.mediaType.isCompatible(mediaType) ? CBOR_MAPPER : objectMapper;
+        mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(entityStream, new FriendColumnsDTO(friends));
+    }
+}
@@ -0,0 +1,29 @@
+package com.krills.resource;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+// Quarkus compresses every response of a compressible type; below the threshold gzip saves too little to be worth
+// the CPU, so those responses are marked identity, which the compressor leaves alone.
+// Only responses with a Content-Length are checked, streamed bodies are always compressed
+@ApplicationScoped
+public class CompressionThreshold {
+
+    @ConfigProperty(name = "compression.min-size", defaultValue = "1024")
+    long minSize;
+
+    void register(@Observes Router router) {
+        router.route().order(Integer.MIN_VALUE).handler(context -> {
+            context.addHeadersEndHandler(ignored -> {
+                String contentLength = context.response().headers().get(HttpHeaders.CONTENT_LENGTH);
+                if (contentLength != null && Long.parseLong(contentLength) < minSize) {
+                    context.response().putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+                }
+            });
+            context.next();
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.krills.resource;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Date;
+import java.util.Optional;
+
+// ETag handling shared by the friend and profile reads
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // Browsers may keep the response but must revalidate it with If-None-Match before every use
+    static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+    // A 304 when If-None-Match matches the tag, checked before anything is loaded or serialized
+    static Optional<Response> notModified(Request request, EntityTag tag) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        return Optional.ofNullable(builder)
+                .map(notModified -> notModified.cacheControl(revalidate()).build());
+    }
+
+    // Same with If-Modified-Since, for clients such as calendar apps that only keep Last-Modified
+    static Optional<Response> notModified(Request request, Date lastModified, EntityTag tag) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(lastModified, tag);
+        return Optional.ofNullable(builder)
+                .map(notModified -> notModified.cacheControl(revalidate()).build());
+    }
+
+    static Response.ResponseBuilder ok(Object entity, EntityTag tag) {
+        return Response.ok(entity)
+                .tag(tag)
+                .cacheControl(revalidate());
+    }
+
+    // The representation depends on Accept, so caches must key on it too
+    static Response.ResponseBuilder ok(Object entity, EntityTag tag, FriendListFormat format) {
+        return ok(entity, tag)
+                .type(format.mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,42 @@
+package com.krills.resource;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+// Representations of a friend list. JSON stays the default; a compact one is only served when it is the client's
+// most preferred type
+enum FriendListFormat {
+    JSON(MediaType.APPLICATION_JSON_TYPE),
+    COLUMNAR_JSON(MediaType.valueOf(FriendListFormat.COLUMNAR_JSON_TYPE)),
+    CBOR(MediaType.valueOf(FriendListFormat.CBOR_TYPE));
+
+    static final String COLUMNAR_JSON_TYPE = "application/vnd.krills.friends.columnar+json";
+    static final String CBOR_TYPE = "application/cbor";
+
+    final MediaType mediaType;
+
+    FriendListFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    static FriendListFormat negotiate(HttpHeaders headers) {
+        List<MediaType> acceptable = headers.getAcceptableMediaTypes();
+        if (!acceptable.isEmpty()) {
+            MediaType preferred = acceptable.get(0);
+            for (FriendListFormat format : values()) {
+                if (format != JSON && format.mediaType.isCompatible(preferred) && !preferred.isWildcardSubtype()) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    // Strong tags must differ between representations of the same resource
+    EntityTag tag(EntityTag tag) {
+        return this == JSON ? tag : new EntityTag(tag.getValue() + "-" + name().toLowerCase());
+    }
+}
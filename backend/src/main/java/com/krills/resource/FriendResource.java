@@ -1,60 +1,278 @@
 package com.krills.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krills.dto.BulkImportResultDTO;
+import com.krills.dto.FriendPageDTO;
 import com.krills.dto.FriendRequestDTO;
 import com.krills.dto.FriendResponseDTO;
+import com.krills.exporter.CsvFriendWriter;
+import com.krills.exporter.FriendRowWriter;
+import com.krills.exporter.IcsFriendWriter;
+import com.krills.exporter.VCardFriendWriter;
+import com.krills.importer.CsvFriendReader;
+import com.krills.importer.JsonFriendReader;
+import com.krills.importer.VCardFriendReader;
+import com.krills.observability.QueryBudget;
+import com.krills.security.CurrentUser;
+import com.krills.service.CalendarFeed;
 import com.krills.service.FriendService;
+import com.krills.service.UserVersions;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.PermitAll;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
-import org.eclipse.microprofile.jwt.JsonWebToken;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Path("/api/friends")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@UnlessBuildProperty(name = "persistence.mode", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
 public class FriendResource {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+    public static final String VCARD = "text/vcard";
+    public static final String CALENDAR = "text/calendar";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_RESULTS = 20;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_QUERY_LENGTH = 100;
+
     @Inject
     FriendService friendService;
 
     @Inject
-    JsonWebToken jwt;
+    CurrentUser currentUser;
+
+    @Inject
+    UserVersions userVersions;
+
+    @Inject
+    ObjectMapper objectMapper;
 
     @GET
-    public List<FriendResponseDTO> getAllFriends() {
-        UUID userId = UUID.fromString(jwt.getSubject());
-        return friendService.getAllFriends(userId);
+    @Produces({MediaType.APPLICATION_JSON, FriendListFormat.COLUMNAR_JSON_TYPE, FriendListFormat.CBOR_TYPE})
+    @QueryBudget(2)
+    public Response getAllFriends(
+            @QueryParam("limit") @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+            @QueryParam("cursor") String cursor,
+            @Context Request request,
+            @Context HttpHeaders headers
+    ) {
+        UUID userId = currentUser.id();
+
+        // The cached list is only used when it was built for this version, so the body never predates its tag
+        long version = userVersions.current(userId);
+        FriendListFormat format = FriendListFormat.negotiate(headers);
+        EntityTag tag = format.tag(userVersions.tag(userId, version));
+        Optional<Response> notModified = ConditionalGet.notModified(request, tag);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
+        if (limit == null && cursor == null) {
+            return ConditionalGet.ok(friendService.getAllFriends(userId, version), tag, format).build();
+        }
+
+        FriendPageDTO page = friendService.getFriendsPage(userId, cursor, limit != null ? limit : DEFAULT_PAGE_SIZE);
+        return ConditionalGet.ok(page.items, tag, format)
+                .header(NEXT_CURSOR_HEADER, page.nextCursor)
+                .build();
+    }
+
+    // Streamed bodies are written after QueryBudgetFilter has run, so a budget here would never see their statements
+    @GET
+    @Path("/stream")
+    @Produces(NDJSON)
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public StreamingOutput streamAllFriends() {
+        UUID userId = currentUser.id();
+
+        return output -> {
+            try {
+                friendService.forEachFriend(userId, dto -> {
+                    try {
+                        output.write(objectMapper.writeValueAsBytes(dto));
+                        output.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
     }
 
     @GET
     @Path("/upcoming")
-    public List<FriendResponseDTO> getUpcomingBirthdays() {
-        UUID userId = UUID.fromString(jwt.getSubject());
-        return friendService.getUpcomingBirthdays(userId);
+    @Produces({MediaType.APPLICATION_JSON, FriendListFormat.COLUMNAR_JSON_TYPE, FriendListFormat.CBOR_TYPE})
+    @QueryBudget(4)
+    public Response getUpcomingBirthdays(
+            @QueryParam("limit") @Min(1) Integer limit,
+            @QueryParam("withinDays") @Min(0) Integer withinDays,
+            @Context Request request,
+            @Context HttpHeaders headers
+    ) {
+        UUID userId = currentUser.id();
+
+        // daysUntilBirthday changes at midnight, so the tag does too
+        long version = userVersions.current(userId);
+        FriendListFormat format = FriendListFormat.negotiate(headers);
+        EntityTag tag = format.tag(userVersions.dailyTag(userId, version));
+        return ConditionalGet.notModified(request, tag)
+                .orElseGet(() -> ConditionalGet.ok(
+                                friendService.getUpcomingBirthdays(userId, version, limit, withinDays), tag, format)
+                        .build());
+    }
+
+    // Calendar apps cannot send a JWT, so the feed is authorized by the secret token in its URL (see
+    // POST /api/me/calendar-token). Polls with a matching If-None-Match or If-Modified-Since cost one index lookup
+    @GET
+    @Path("/calendar.ics")
+    @Produces(CALENDAR)
+    @PermitAll
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public Response getCalendar(@QueryParam("token") String token, @Context Request request) {
+        CalendarFeed feed = Optional.ofNullable(token)
+                .flatMap(friendService::findCalendarFeed)
+                .orElseThrow(() -> new NotFoundException("Calendar feed not found"));
+
+        EntityTag tag = userVersions.tag(feed.userId(), feed.version());
+        // HTTP dates have whole seconds; a finer Last-Modified would never match If-Modified-Since
+        Date lastModified = Date.from(feed.modifiedAt().truncatedTo(ChronoUnit.SECONDS));
+
+        StreamingOutput calendar = write(feed.userId(), output -> new IcsFriendWriter(output, feed.modifiedAt()));
+        return ConditionalGet.notModified(request, lastModified, tag)
+                .orElseGet(() -> ConditionalGet.ok(calendar, tag)
+                        .lastModified(lastModified)
+                        .build());
+    }
+
+    // A full backup in a format POST /api/friends/bulk imports again. The body is written as the rows come off the
+    // cursor, chunked and gzip-compressed when the client accepts it, so memory does not grow with the friend count
+    @GET
+    @Path("/export")
+    @Produces({CSV, VCARD})
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public Response exportFriends(@QueryParam("format") @DefaultValue("csv") @Pattern(regexp = "csv|vcard") String format) {
+        UUID userId = currentUser.id();
+
+        boolean vcard = format.equals("vcard");
+        return Response.ok(write(userId, vcard ? VCardFriendWriter::new : CsvFriendWriter::new))
+                .type(vcard ? VCARD : CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"friends." + (vcard ? "vcf" : "csv") + "\"")
+                .build();
+    }
+
+    private StreamingOutput write(UUID userId, Function<OutputStream, FriendRowWriter> writers) {
+        return output -> {
+            FriendRowWriter writer = writers.apply(output);
+            writer.start();
+            try {
+                friendService.forEachFriend(userId, friend -> {
+                    try {
+                        writer.write(friend);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+    }
+
+    @GET
+    @Path("/search")
+    @QueryBudget(2)
+    public List<FriendResponseDTO> searchFriends(
+            @QueryParam("q") @NotBlank @Size(max = MAX_QUERY_LENGTH) String query,
+            @QueryParam("limit") @Min(1) @Max(MAX_SEARCH_RESULTS) Integer limit
+    ) {
+        UUID userId = currentUser.id();
+        return friendService.searchFriends(userId, query, limit != null ? limit : DEFAULT_SEARCH_RESULTS);
     }
 
     @POST
+    @QueryBudget(3)
     public FriendResponseDTO createFriend(@Valid FriendRequestDTO dto) {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         return friendService.createFriend(userId, dto);
     }
 
+    // Bulk imports issue one insert batch per statement-batch-size rows, so they have no fixed budget
+    @POST
+    @Path("/bulk")
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public BulkImportResultDTO importFriends(InputStream body) {
+        UUID userId = currentUser.id();
+        return friendService.importFriends(userId, new JsonFriendReader(objectMapper, body));
+    }
+
+    @POST
+    @Path("/bulk")
+    @Consumes(CSV)
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public BulkImportResultDTO importFriendsCsv(InputStream body) {
+        UUID userId = currentUser.id();
+        return friendService.importFriends(userId, new CsvFriendReader(body));
+    }
+
+    @POST
+    @Path("/bulk")
+    @Consumes(VCARD)
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public BulkImportResultDTO importFriendsVCard(InputStream body) {
+        UUID userId = currentUser.id();
+        return friendService.importFriends(userId, new VCardFriendReader(body));
+    }
+
     @PUT
     @Path("/{id}")
+    @QueryBudget(2)
     public FriendResponseDTO updateFriend(@PathParam("id") UUID friendId, @Valid FriendRequestDTO dto) {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         return friendService.updateFriend(userId, friendId, dto);
     }
 
     @DELETE
     @Path("/{id}")
+    @QueryBudget(2)
     public void deleteFriend(@PathParam("id") UUID friendId) {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         friendService.deleteFriend(userId, friendId);
     }
 }
\ No newline at end of file
@@ -1,16 +1,25 @@
 package com.krills.resource;
 
+import com.krills.dto.CalendarFeedDTO;
 import com.krills.dto.ChangePasswordRequestDTO;
 import com.krills.dto.ProfileRequestDTO;
 import com.krills.dto.ProfileResponseDTO;
+import com.krills.observability.QueryBudget;
+import com.krills.security.CurrentUser;
 import com.krills.service.ProfileService;
+import com.krills.service.UserVersions;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.jwt.JsonWebToken;
+import jakarta.ws.rs.core.UriInfo;
 
 import java.util.Map;
 import java.util.UUID;
@@ -19,37 +28,74 @@ import java.util.UUID;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@UnlessBuildProperty(name = "persistence.mode", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
 public class ProfileResource {
 
     @Inject
     ProfileService profileService;
 
     @Inject
-    JsonWebToken jwt;
+    UserVersions userVersions;
+
+    @Inject
+    CurrentUser currentUser;
 
     @GET
-    public ProfileResponseDTO getProfile() {
-        UUID userId = UUID.fromString(jwt.getSubject());
-        return profileService.getProfile(userId);
+    @QueryBudget(2)
+    public Response getProfile(@Context Request request) {
+        UUID userId = currentUser.id();
+
+        EntityTag tag = userVersions.tag(userId);
+        return ConditionalGet.notModified(request, tag)
+                .orElseGet(() -> ConditionalGet.ok(profileService.getProfile(userId), tag).build());
     }
 
     @PUT
+    @QueryBudget(2)
     public ProfileResponseDTO updateProfile(@Valid ProfileRequestDTO dto) {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         return profileService.updateProfile(userId, dto);
     }
 
     @PATCH
     @Path("/password")
+    @QueryBudget(2)
     public Response changePassword(@Valid ChangePasswordRequestDTO dto) {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         profileService.changePassword(userId, dto);
         return Response.ok().entity(Map.of("message", "Password changed successfully")).build();
     }
 
+    // Creates the calendar feed URL, or replaces it so the previous one stops working
+    @POST
+    @Path("/calendar-token")
+    @QueryBudget(1)
+    public CalendarFeedDTO createCalendarToken(@Context UriInfo uriInfo) {
+        UUID userId = currentUser.id();
+        String token = profileService.createCalendarToken(userId);
+        String url = uriInfo.getBaseUriBuilder()
+                .path(FriendResource.class)
+                .path("calendar.ics")
+                .queryParam("token", token)
+                .build()
+                .toString();
+        return new CalendarFeedDTO(url, token);
+    }
+
+    @DELETE
+    @Path("/calendar-token")
+    @QueryBudget(1)
+    public Response deleteCalendarToken() {
+        UUID userId = currentUser.id();
+        profileService.deleteCalendarToken(userId);
+        return Response.noContent().build();
+    }
+
     @DELETE
+    @QueryBudget(2)
     public Response deleteProfile() {
-        UUID userId = UUID.fromString(jwt.getSubject());
+        UUID userId = currentUser.id();
         profileService.deleteProfile(userId);
         return Response.noContent().build();
     }
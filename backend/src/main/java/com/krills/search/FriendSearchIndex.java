@@ -0,0 +1,87 @@
+package com.krills.search;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.dto.FriendResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Per-user trigram indexes, least recently searched evicted first. An index is tagged with the user's data version,
+// so any friend change (on this instance or another) makes the next search rebuild it
+@ApplicationScoped
+public class FriendSearchIndex {
+
+    @ConfigProperty(name = "friends.search.max-users", defaultValue = "1000")
+    int maxUsers;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    // A lock rather than synchronized, so contending virtual threads park instead of pinning their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<UUID, Entry> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public List<FriendResponseDTO> search(UUID userId, long version, String query, int limit,
+                                          Supplier<List<FriendResponseDTO>> loader) {
+        return index(userId, version, loader).search(query, limit);
+    }
+
+    // Stale indexes are already skipped by version; this frees the memory of a user that is gone
+    public void invalidate(UUID userId) {
+        lock.lock();
+        try {
+            entries.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TrigramIndex index(UUID userId, long version, Supplier<List<FriendResponseDTO>> loader) {
+        // Results carry daysUntilBirthday, so an index built yesterday is rebuilt as well
+        LocalDate today = birthdayCalendar.today();
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.version == version && entry.builtOn.equals(today)) {
+                return entry.index;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Built outside the lock; two concurrent searches may both build, the later one wins
+        TrigramIndex index = new TrigramIndex(List.copyOf(loader.get()));
+
+        lock.lock();
+        try {
+            entries.put(userId, new Entry(version, today, index));
+        } finally {
+            lock.unlock();
+        }
+        return index;
+    }
+
+    private record Entry(long version, LocalDate builtOn, TrigramIndex index) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.krills.search;
+
+import com.krills.dto.FriendResponseDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Immutable trigram index over one user's friends. Every distinct word of the first and last names is indexed with
+// two leading pad characters, so a query word's trigrams select the names starting with it; candidate words are then
+// checked with an edit distance against their prefix, which is what makes the search typo tolerant. Names repeat a
+// lot, so matching works on distinct words and only then fans out to the friends using them
+final class TrigramIndex {
+
+    private static final String PAD = "\u0001\u0001";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_WORDS = new String[0];
+
+    private final List<FriendResponseDTO> friends;
+
+    // Distinct normalized words, the friends using each, and the words containing each trigram
+    private final String[] words;
+    private final int[][] friendsByWord;
+    private final Map<String, int[]> wordsByGram;
+
+    // Friend indexes sorted by last and first name, the order of equally good matches
+    private final int[] byName;
+
+    TrigramIndex(List<FriendResponseDTO> friends) {
+        this.friends = friends;
+
+        Map<String, Integer> wordIds = new HashMap<>();
+        List<Postings> usage = new ArrayList<>();
+        for (int i = 0; i < friends.size(); i++) {
+            FriendResponseDTO friend = friends.get(i);
+            for (String word : normalize(friend.firstName + " " + friend.lastName)) {
+                int wordId = wordIds.computeIfAbsent(word, ignored -> {
+                    usage.add(new Postings());
+                    return usage.size() - 1;
+                });
+                usage.get(wordId).add(i);
+            }
+        }
+
+        this.words = new String[wordIds.size()];
+        wordIds.forEach((word, wordId) -> words[wordId] = word);
+        this.friendsByWord = usage.stream().map(Postings::toArray).toArray(int[][]::new);
+
+        Map<String, Postings> building = new HashMap<>();
+        for (int wordId = 0; wordId < words.length; wordId++) {
+            for (String gram : grams(words[wordId])) {
+                building.computeIfAbsent(gram, ignored -> new Postings()).add(wordId);
+            }
+        }
+        this.wordsByGram = new HashMap<>(building.size() * 2);
+        building.forEach((gram, postings) -> wordsByGram.put(gram, postings.toArray()));
+
+        Comparator<FriendResponseDTO> nameOrder = Comparator
+                .comparing((FriendResponseDTO friend) -> friend.lastName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(friend -> friend.firstName, String.CASE_INSENSITIVE_ORDER);
+        this.byName = IntStream.range(0, friends.size())
+                .boxed()
+                .sorted((left, right) -> nameOrder.compare(friends.get(left), friends.get(right)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    int size() {
+        return friends.size();
+    }
+
+    // Every query word must start some word of the friend's name within its typo allowance; fewest typos first,
+    // then by last and first name
+    List<FriendResponseDTO> search(String query, int limit) {
+        String[] terms = normalize(query);
+        if (terms.length == 0 || friends.isEmpty()) {
+            return List.of();
+        }
+
+        int[] distances = new int[friends.size()];
+        int maxDistance = 0;
+        for (int t = 0; t < terms.length; t++) {
+            String term = terms[t];
+            int maxTypos = maxTypos(term);
+            maxDistance += maxTypos;
+
+            // Best distance of this term per friend; a friend that missed an earlier term stays out
+            int[] best = new int[friends.size()];
+            Arrays.fill(best, maxTypos + 1);
+
+            Rows rows = new Rows(term.length() + maxTypos);
+            for (int wordId : candidateWords(term, maxTypos)) {
+                String word = words[wordId];
+                int distance = word.startsWith(term) ? 0 : maxTypos == 0 ? 1 : prefixDistance(term, word, maxTypos, rows);
+                if (distance > maxTypos) {
+                    continue;
+                }
+                for (int i : friendsByWord[wordId]) {
+                    best[i] = Math.min(best[i], distance);
+                }
+            }
+
+            for (int i = 0; i < distances.length; i++) {
+                distances[i] = (t > 0 && distances[i] < 0) || best[i] > maxTypos ? -1 : distances[i] + best[i];
+            }
+        }
+
+        // Walk the name order once per total distance, best first, until the limit is reached
+        List<FriendResponseDTO> results = new ArrayList<>(Math.min(limit, friends.size()));
+        for (int distance = 0; distance <= maxDistance && results.size() < limit; distance++) {
+            for (int i : byName) {
+                if (distances[i] == distance) {
+                    results.add(friends.get(i));
+                    if (results.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // A substitution, insertion or deletion changes at most three trigrams, but prefixDistance also counts swapping
+    // two adjacent letters as one edit, and a swap changes four. So a matching word shares at least
+    // (grams - 4 * typos) of them. When that bound is not positive every word is a candidate
+    private int[] candidateWords(String term, int maxTypos) {
+        Set<String> grams = new HashSet<>(grams(term));
+        int required = grams.size() - 4 * maxTypos;
+        if (required <= 0) {
+            return IntStream.range(0, words.length).toArray();
+        }
+
+        int[] shared = new int[words.length];
+        Postings candidates = new Postings();
+        for (String gram : grams) {
+            int[] postings = wordsByGram.get(gram);
+            if (postings == null) {
+                continue;
+            }
+            for (int wordId : postings) {
+                if (++shared[wordId] == required) {
+                    candidates.add(wordId);
+                }
+            }
+        }
+        return candidates.toArray();
+    }
+
+    private static List<String> grams(String word) {
+        String padded = PAD + word;
+        List<String> grams = new ArrayList<>(word.length());
+        for (int start = 0; start + 3 <= padded.length(); start++) {
+            grams.add(padded.substring(start, start + 3));
+        }
+        return grams;
+    }
+
+    static int maxTypos(String term) {
+        if (term.length() <= 3) {
+            return 0;
+        }
+        return term.length() <= 6 ? 1 : 2;
+    }
+
+    // Smallest edit distance (with adjacent transpositions) between the term and any prefix of the word.
+    // Returns maxTypos + 1 as soon as no prefix can get within maxTypos
+    static int prefixDistance(String term, String word, int maxTypos, Rows rows) {
+        int columns = Math.min(word.length(), term.length() + maxTypos);
+        int[] previous2 = rows.previous2;
+        int[] previous = rows.previous;
+        int[] current = rows.current;
+        for (int j = 0; j <= columns; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= term.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= columns; j++) {
+                int cost = term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && term.charAt(i - 1) == word.charAt(j - 2) && term.charAt(i - 2) == word.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxTypos) {
+                return maxTypos + 1;
+            }
+
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j <= columns; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    // Lower-cased words without accents, so "José" is found by "jose"
+    static String[] normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_WORDS;
+        }
+        String folded = isAscii(text)
+                ? text.toLowerCase(Locale.ROOT)
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Scratch rows for prefixDistance, reused across the candidate words of one query word
+    static final class Rows {
+        final int[] previous2;
+        final int[] previous;
+        final int[] current;
+
+        Rows(int columns) {
+            previous2 = new int[columns + 1];
+            previous = new int[columns + 1];
+            current = new int[columns + 1];
+        }
+    }
+
+    // Growable int list; values are added in increasing order, so a repeat is only ever the last one
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
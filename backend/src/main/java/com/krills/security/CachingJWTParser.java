@@ -0,0 +1,100 @@
+package com.krills.security;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Remembers tokens verified against the configured context, keyed by their SHA-256, until they expire so repeat
+// requests skip verification
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class CachingJWTParser extends DefaultJWTParser {
+
+    @ConfigProperty(name = "jwt.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<String, CachedToken> tokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public CachingJWTParser() {
+    }
+
+    public CachingJWTParser(JWTAuthContextInfo authContextInfo) {
+        super(authContextInfo);
+    }
+
+    @Override
+    public JsonWebToken parse(String token) throws ParseException {
+        String key = hash(token);
+        JsonWebToken cached = lookup(key);
+        return cached != null ? cached : store(key, super.parse(token));
+    }
+
+    // Not cached: an entry verified under the configured context must not vouch for a token checked against another
+    // issuer, audience or key. Quarkus authenticates requests through parse(String)
+    @Override
+    public JsonWebToken parse(String token, JWTAuthContextInfo context) throws ParseException {
+        return super.parse(token, context);
+    }
+
+    private JsonWebToken lookup(String key) {
+        lock.lock();
+        try {
+            CachedToken cached = tokens.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt <= System.currentTimeMillis()) {
+                tokens.remove(key);
+                return null;
+            }
+            return cached.principal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JsonWebToken store(String key, JsonWebToken token) {
+        UserPrincipal principal = new UserPrincipal(token);
+
+        lock.lock();
+        try {
+            tokens.put(key, new CachedToken(principal, token.getExpirationTime() * 1000));
+        } finally {
+            lock.unlock();
+        }
+        return principal;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedToken(UserPrincipal principal, long expiresAt) {
+    }
+}
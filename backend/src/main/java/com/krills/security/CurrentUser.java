@@ -0,0 +1,24 @@
+package com.krills.security;
+
+import io.quarkus.security.identity.SecurityIdentity;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.security.Principal;
+import java.util.UUID;
+
+@RequestScoped
+public class CurrentUser {
+
+    @Inject
+    SecurityIdentity identity;
+
+    public UUID id() {
+        Principal principal = identity.getPrincipal();
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.userId;
+        }
+        return UUID.fromString(((JsonWebToken) principal).getSubject());
+    }
+}
@@ -0,0 +1,134 @@
+package com.krills.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs BCrypt on its own bounded pool so a login storm is rejected early instead of tying up request threads
+@ApplicationScoped
+public class PasswordHasher {
+
+    @ConfigProperty(name = "password.hashing.cost", defaultValue = "10")
+    int cost;
+
+    @ConfigProperty(name = "password.hashing.threads")
+    Optional<Integer> threads;
+
+    @ConfigProperty(name = "password.hashing.queue-size", defaultValue = "64")
+    int queueSize;
+
+    @Inject
+    MeterRegistry registry;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        registry.gauge("password.hashing.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    public boolean matches(String password, String hash) {
+        return await(matchesAsync(password, hash));
+    }
+
+    // For callers that must not block, such as the reactive services; completes on a hasher thread
+    public CompletableFuture<String> hashAsync(String password) {
+        return submit("hash", () -> BcryptUtil.bcryptHash(password, cost));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String password, String hash) {
+        return submit("matches", () -> BcryptUtil.matches(password, hash));
+    }
+
+    public boolean needsRehash(String hash) {
+        int storedCost = costOf(hash);
+        return storedCost > 0 && storedCost != cost;
+    }
+
+    // Modular crypt format: $2a$10$<salt and hash>
+    private static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // password.hashing times the BCrypt work alone; queueing shows up in the caller's service timing
+    private <T> CompletableFuture<T> submit(String operation, Callable<T> task) {
+        Timer timer = registry.timer("password.hashing", "operation", operation);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return timer.recordCallable(task);
+                } catch (Exception e) {
+                    throw e instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            registry.counter("password.hashing.rejected").increment();
+            return CompletableFuture.failedFuture(new WebApplicationException("Too many requests, please retry later",
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE).header("Retry-After", "1").build()));
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new WebApplicationException("Request interrupted", Response.Status.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.krills.security;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.util.Set;
+import java.util.UUID;
+
+// A verified token together with the user id parsed from its subject, so resources never parse it again
+public class UserPrincipal implements JsonWebToken {
+    public final UUID userId;
+
+    private final JsonWebToken token;
+
+    public UserPrincipal(JsonWebToken token) {
+        this.token = token;
+        this.userId = UUID.fromString(token.getSubject());
+    }
+
+    @Override
+    public String getName() {
+        return token.getName();
+    }
+
+    @Override
+    public Set<String> getClaimNames() {
+        return token.getClaimNames();
+    }
+
+    @Override
+    public <T> T getClaim(String claimName) {
+        return token.getClaim(claimName);
+    }
+}
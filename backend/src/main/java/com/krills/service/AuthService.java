@@ -4,20 +4,27 @@ import com.krills.dto.AuthRequestDTO;
 import com.krills.dto.AuthResponseDTO;
 import com.krills.dto.RegisterRequestDTO;
 import com.krills.entity.User;
+import com.krills.exception.ConflictException;
 import com.krills.mapper.UserMapper;
+import com.krills.observability.Measured;
 import com.krills.repository.UserRepository;
-import io.quarkus.elytron.security.common.BcryptUtil;
+import com.krills.security.PasswordHasher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.smallrye.jwt.build.Jwt;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import org.hibernate.exception.ConstraintViolationException;
 
 import java.time.Duration;
 import java.util.HashSet;
+import java.util.Locale;
 
 @ApplicationScoped
+@Measured
 public class AuthService {
 
     @Inject
@@ -26,21 +33,38 @@ public class AuthService {
     @Inject
     UserMapper mapper;
 
+    @Inject
+    PasswordHasher passwordHasher;
+
     @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
-        if (userRepository.existsByUsername(request.username)) {
-            throw new WebApplicationException("Username already exists", Response.Status.CONFLICT);
-        }
-
-        if (userRepository.existsByEmail(request.email)) {
-            throw new WebApplicationException("Email already exists", Response.Status.CONFLICT);
-        }
+        // Hash before the first query so no connection is held while BCrypt runs
+        String passwordHash = passwordHasher.hash(request.password);
 
         User user = mapper.toUser(request);
-        user.password = BcryptUtil.bcryptHash(request.password);
+        user.password = passwordHash;
         user.role = "user";
 
-        userRepository.persist(user);
+        // The unique constraints on username and email decide; no lookup before the insert
+        try {
+            userRepository.persist(user);
+            userRepository.flush();
+        } catch (PersistenceException e) {
+            ConstraintViolationException violation = findConstraintViolation(e);
+            if (violation == null) {
+                throw e;
+            }
+
+            ConflictException conflict = toConflict(violation.getConstraintName());
+            if (conflict == null) {
+                // Constraint names generated before the migrations are unknown; look the field up instead
+                String field = QuarkusTransaction.requiringNew()
+                        .call(() -> userRepository.findTakenField(request.username, request.email))
+                        .orElseThrow(() -> e);
+                conflict = toConflict(field);
+            }
+            throw conflict;
+        }
 
         String token = generateToken(user);
         return new AuthResponseDTO(token, user.id, user.username);
@@ -50,15 +74,44 @@ public class AuthService {
         User user = userRepository.findByUsername(request.username)
                 .orElseThrow(() -> new WebApplicationException("Invalid credentials", Response.Status.UNAUTHORIZED));
 
-        if (!BcryptUtil.matches(request.password, user.password)) {
+        if (!passwordHasher.matches(request.password, user.password)) {
             throw new WebApplicationException("Invalid credentials", Response.Status.UNAUTHORIZED);
         }
 
+        // Move hashes stored with an older cost factor to the configured one
+        if (passwordHasher.needsRehash(user.password)) {
+            String rehashed = passwordHasher.hash(request.password);
+            QuarkusTransaction.requiringNew().run(() -> userRepository.updatePassword(user.id, rehashed));
+        }
+
         String token = generateToken(user);
         return new AuthResponseDTO(token, user.id, user.username);
     }
 
-    private String generateToken(User user) {
+    static ConstraintViolationException findConstraintViolation(Throwable e) {
+        while (e != null) {
+            if (e instanceof ConstraintViolationException violation) {
+                return violation;
+            }
+            e = e.getCause();
+        }
+        return null;
+    }
+
+    // Accepts a constraint name as reported by the driver (e.g. "users.uk_users_email", "UK_USERS_EMAIL_INDEX_4")
+    // or a field name
+    static ConflictException toConflict(String name) {
+        String lowerCase = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        if (lowerCase.contains("uk_users_username") || lowerCase.equals("username")) {
+            return new ConflictException("username", "Username already exists");
+        }
+        if (lowerCase.contains("uk_users_email") || lowerCase.equals("email")) {
+            return new ConflictException("email", "Email already exists");
+        }
+        return null;
+    }
+
+    String generateToken(User user) {
         return Jwt.issuer("birthday-tracker")
                 .upn(user.username)
                 .subject(user.id.toString())
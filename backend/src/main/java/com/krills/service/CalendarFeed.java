@@ -0,0 +1,11 @@
+package com.krills.service;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// The user behind a calendar feed token and the validators of its feed; built by a "select new" query
+@RegisterForReflection(fields = false, methods = false)
+public record CalendarFeed(UUID userId, long version, Instant modifiedAt) {
+}
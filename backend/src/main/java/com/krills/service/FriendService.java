@@ -1,27 +1,58 @@
 package com.krills.service;
 
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.birthday.UpcomingWindow;
+import com.krills.cache.FriendListCache;
+import com.krills.dto.BulkImportResultDTO;
+import com.krills.dto.BulkImportRowDTO;
+import com.krills.dto.FriendCursor;
+import com.krills.dto.FriendPageDTO;
 import com.krills.dto.FriendRequestDTO;
 import com.krills.dto.FriendResponseDTO;
 import com.krills.entity.Friend;
 import com.krills.entity.User;
+import com.krills.importer.FriendImportRow;
 import com.krills.mapper.FriendMapper;
+import com.krills.observability.Measured;
 import com.krills.repository.FriendRepository;
 import com.krills.repository.UserRepository;
+import com.krills.search.FriendSearchIndex;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollableResults;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
+@Measured
 public class FriendService {
 
+    // Shared by the cached and the database path, and by ReactiveFriendService. Friends celebrating on the same day
+    // are ranked by calendar day first, so Feb 29 birthdays follow the Feb 28 ones they share a day with in non-leap
+    // years
+    static final Comparator<FriendResponseDTO> UPCOMING_ORDER =
+            Comparator.<FriendResponseDTO, Integer>comparing(dto -> dto.daysUntilBirthday)
+                    .thenComparing(dto -> BirthdayCalendar.ordinal(dto.birthDate))
+                    .thenComparing(dto -> dto.lastName)
+                    .thenComparing(dto -> dto.firstName)
+                    .thenComparing(dto -> dto.id);
+
     @Inject
     FriendRepository friendRepository;
 
@@ -31,6 +62,27 @@ public class FriendService {
     @Inject
     FriendMapper mapper;
 
+    @Inject
+    FriendListCache friendListCache;
+
+    @Inject
+    UserVersions userVersions;
+
+    @Inject
+    FriendSearchIndex friendSearchIndex;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "friends.import.max-rows", defaultValue = "10000")
+    int maxImportRows;
+
     @Transactional
     public FriendResponseDTO createFriend(UUID userId, FriendRequestDTO dto) {
         User user = userRepository.findByIdOptional(userId)
@@ -40,50 +92,196 @@ public class FriendService {
         friend.user = user;
 
         friendRepository.persist(friend);
+        userVersions.bump(userId);
+        friendListCache.invalidate(userId);
 
         return mapper.toDTO(friend);
     }
 
-    public List<FriendResponseDTO> getUpcomingBirthdays(UUID userId) {
-        List<Friend> friends = friendRepository.findByUserId(userId);
+    @Transactional
+    public BulkImportResultDTO importFriends(UUID userId, Iterator<FriendImportRow> rows) {
+        // The whole body is parsed and validated before the first insert, so an import over the limit is rejected
+        // as soon as its first extra row is read, without having written anything. Valid rows keep a null slot in
+        // the report until they are inserted
+        List<BulkImportRowDTO> report = new ArrayList<>();
+        List<FriendImportRow> valid = new ArrayList<>();
+        while (rows.hasNext()) {
+            FriendImportRow row = rows.next();
+            if (row.row > maxImportRows) {
+                throw new WebApplicationException("Import is limited to " + maxImportRows + " rows",
+                        Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+
+            Map<String, String> errors = validate(row);
+            if (!errors.isEmpty()) {
+                report.add(new BulkImportRowDTO(row.row, "FAILED", null, errors));
+                continue;
+            }
+
+            report.add(null);
+            valid.add(row);
+        }
+
+        User user = userRepository.findByIdOptional(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        int imported = 0;
+        for (int i = 0; i < report.size() && imported < valid.size(); i++) {
+            if (report.get(i) != null) {
+                continue;
+            }
+
+            FriendImportRow row = valid.get(imported);
+            Friend friend = mapper.toEntity(row.friend);
+            friend.user = user;
+            friendRepository.persist(friend);
+            report.set(i, new BulkImportRowDTO(row.row, "CREATED", friend.id, null));
+            imported++;
+
+            // Flush a full JDBC batch and drop it from the persistence context to keep memory flat
+            if (imported % batchSize == 0) {
+                friendRepository.flush();
+                friendRepository.getEntityManager().clear();
+            }
+        }
+
+        userVersions.bump(userId);
+        friendListCache.invalidate(userId);
+
+        return new BulkImportResultDTO(imported, report.size() - imported, report);
+    }
+
+    private Map<String, String> validate(FriendImportRow row) {
+        if (row.error != null) {
+            return Map.of("row", row.error);
+        }
+
+        return validator.validate(row.friend).stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (existing, replacement) -> existing
+                ));
+    }
+
+    // version is the user's data version the response is tagged with, see getAllFriends
+    public List<FriendResponseDTO> getUpcomingBirthdays(UUID userId, long version, Integer limit, Integer withinDays) {
+        List<FriendResponseDTO> cached = friendListCache.getIfPresent(userId, version);
+        if (cached != null) {
+            return cached.stream()
+                    .filter(dto -> withinDays == null || dto.daysUntilBirthday <= withinDays)
+                    .sorted(UPCOMING_ORDER)
+                    .limit(limit != null ? limit : Long.MAX_VALUE)
+                    .collect(Collectors.toList());
+        }
+
+        UpcomingWindow window = UpcomingWindow.of(birthdayCalendar.today(), withinDays);
+        List<Friend> friends = new ArrayList<>(
+                friendRepository.findByBirthMonthDayBetween(userId, window.from, window.to, limit));
+
+        // Birthdays that already passed this year come next, in the following year
+        if (window.wraps() && (limit == null || friends.size() < limit)) {
+            Integer remaining = limit == null ? null : limit - friends.size();
+            friends.addAll(friendRepository.findByBirthMonthDayBetween(
+                    userId, UpcomingWindow.FIRST_MONTH_DAY, window.wrapTo, remaining));
+        }
+
+        // The database ranks names by its own collation, so the limit may cut the last day anywhere; that whole day
+        // is read and ranked here instead, exactly as the cached path ranks it
+        if (limit != null && friends.size() == limit) {
+            int lastMonthDay = friends.get(limit - 1).birthMonthDay;
+            friends.removeIf(friend -> friend.birthMonthDay == lastMonthDay);
+            friends.addAll(friendRepository.findByBirthMonthDay(userId, lastMonthDay));
+        }
 
         return friends.stream()
                 .map(friend -> mapper.toDTO(friend))
-                .sorted(Comparator.comparing(dto -> dto.daysUntilBirthday))
+                .sorted(UPCOMING_ORDER)
+                .limit(limit != null ? limit : Long.MAX_VALUE)
                 .collect(Collectors.toList());
     }
 
-    public List<FriendResponseDTO> getAllFriends(UUID userId) {
+    // version is the user's data version the response is tagged with. The cache only answers with a list built for
+    // that version, so a list cached before a write made on another instance is reloaded instead of served
+    public List<FriendResponseDTO> getAllFriends(UUID userId, long version) {
+        return friendListCache.get(userId, version, () -> loadAllFriends(userId));
+    }
+
+    public List<FriendResponseDTO> searchFriends(UUID userId, String query, int limit) {
+        long version = userVersions.current(userId);
+        return friendSearchIndex.search(userId, version, query, limit, () -> getAllFriends(userId, version));
+    }
+
+    private List<FriendResponseDTO> loadAllFriends(UUID userId) {
         return friendRepository.findByUserId(userId).stream()
                 .map(friend -> mapper.toDTO(friend))
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    public FriendResponseDTO updateFriend(UUID userId, UUID friendId, FriendRequestDTO dto) {
-        Friend friend = friendRepository.findByIdOptional(friendId)
-                .orElseThrow(() -> new NotFoundException("Friend not found"));
+    public FriendPageDTO getFriendsPage(UUID userId, String cursor, int limit) {
+        FriendCursor after = cursor == null ? null : FriendCursor.decode(cursor);
+        List<Friend> friends = friendRepository.findPageByUserId(userId, after, limit + 1);
 
-        if (!friend.user.id.equals(userId)) {
-            throw new WebApplicationException("Unauthorized", Response.Status.FORBIDDEN);
+        String nextCursor = null;
+        if (friends.size() > limit) {
+            friends = friends.subList(0, limit);
+            nextCursor = FriendCursor.of(friends.get(limit - 1)).encode();
         }
 
-        friend.firstName = dto.firstName;
-        friend.lastName = dto.lastName;
-        friend.birthDate = dto.birthDate;
+        List<FriendResponseDTO> items = friends.stream()
+                .map(friend -> mapper.toDTO(friend))
+                .collect(Collectors.toList());
 
+        return new FriendPageDTO(items, nextCursor);
+    }
+
+    public Optional<CalendarFeed> findCalendarFeed(String token) {
+        return userRepository.findCalendarFeed(token);
+    }
+
+    // Hands each friend to the action as it comes off the cursor. An exception from the action (a client that went
+    // away) closes the cursor and rolls back, so the connection goes back to the pool straight away. Slow clients
+    // keep the transaction open for as long as the body takes, hence the longer timeout
+    @Transactional
+    @TransactionConfiguration(timeoutFromConfigProperty = "friends.stream.transaction-timeout")
+    public void forEachFriend(UUID userId, Consumer<FriendResponseDTO> action) {
+        try (ScrollableResults<Friend> friends = friendRepository.scrollByUserId(userId)) {
+            while (friends.next()) {
+                Friend friend = friends.get();
+                action.accept(mapper.toDTO(friend));
+                // Keep the persistence context empty so memory stays flat for large lists
+                friendRepository.getEntityManager().detach(friend);
+            }
+        }
+    }
+
+    @Transactional
+    public FriendResponseDTO updateFriend(UUID userId, UUID friendId, FriendRequestDTO dto) {
+        // One ownership-scoped UPDATE; the friend is only looked up again when no row matched
+        if (friendRepository.updateOwned(userId, friendId, dto.firstName, dto.lastName, dto.birthDate) == 0) {
+            throw notOwned(friendId);
+        }
+        userVersions.bump(userId);
+        friendListCache.invalidate(userId);
+
+        Friend friend = mapper.toEntity(dto);
+        friend.id = friendId;
         return mapper.toDTO(friend);
     }
 
     @Transactional
     public void deleteFriend(UUID userId, UUID friendId) {
-        Friend friend = friendRepository.findByIdOptional(friendId)
-                .orElseThrow(() -> new NotFoundException("Friend not found"));
-
-        if (!friend.user.id.equals(userId)) {
-            throw new WebApplicationException("Unauthorized", Response.Status.FORBIDDEN);
+        if (friendRepository.deleteOwned(userId, friendId) == 0) {
+            throw notOwned(friendId);
         }
+        userVersions.bump(userId);
+        friendListCache.invalidate(userId);
+    }
 
-        friendRepository.delete(friend);
+    private WebApplicationException notOwned(UUID friendId) {
+        if (friendRepository.count("id", friendId) == 0) {
+            return new NotFoundException("Friend not found");
+        }
+        return new WebApplicationException("Unauthorized", Response.Status.FORBIDDEN);
     }
 }
@@ -1,12 +1,17 @@
 package com.krills.service;
 
+import com.krills.cache.FriendListCache;
 import com.krills.dto.ChangePasswordRequestDTO;
 import com.krills.dto.ProfileRequestDTO;
 import com.krills.dto.ProfileResponseDTO;
 import com.krills.entity.User;
 import com.krills.mapper.UserMapper;
+import com.krills.observability.Measured;
+import com.krills.repository.FriendRepository;
 import com.krills.repository.UserRepository;
-import io.quarkus.elytron.security.common.BcryptUtil;
+import com.krills.search.FriendSearchIndex;
+import com.krills.security.PasswordHasher;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -14,17 +19,40 @@ import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.UUID;
 
 @ApplicationScoped
+@Measured
 public class ProfileService {
 
+    private static final int CALENDAR_TOKEN_BYTES = 32;
+
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    FriendRepository friendRepository;
+
     @Inject
     UserMapper mapper;
 
+    @Inject
+    FriendListCache friendListCache;
+
+    @Inject
+    FriendSearchIndex friendSearchIndex;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    UserVersions userVersions;
+
+    // An instance field: a SecureRandom must not be created at native image build time
+    private final SecureRandom secureRandom = new SecureRandom();
+
     public ProfileResponseDTO getProfile(UUID userId) {
         User user = findById(userId);
         return mapper.toDTO(user);
@@ -39,25 +67,51 @@ public class ProfileService {
         user.birthDate = dto.birthDate;
         user.email = dto.email;
         user.username = dto.username;
+        userVersions.bump(user);
 
         return mapper.toDTO(user);
     }
 
+    // 256 random bits; a new token replaces the old one, so a leaked feed URL is revoked by creating another
     @Transactional
-    public void deleteProfile(UUID userId) {
-        User user = findById(userId);
-        userRepository.delete(user);
+    public String createCalendarToken(UUID userId) {
+        byte[] bytes = new byte[CALENDAR_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        if (userRepository.updateCalendarToken(userId, token) == 0) {
+            throw new NotFoundException("User not found");
+        }
+        return token;
     }
 
     @Transactional
+    public void deleteCalendarToken(UUID userId) {
+        if (userRepository.updateCalendarToken(userId, null) == 0) {
+            throw new NotFoundException("User not found");
+        }
+    }
+
+    // Two bulk statements: the friends by user_id, then the user. Nothing is loaded to cascade
+    @Transactional
+    public void deleteProfile(UUID userId) {
+        friendRepository.deleteByUserId(userId);
+        if (!userRepository.deleteUser(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        friendListCache.invalidate(userId);
+        friendSearchIndex.invalidate(userId);
+    }
+
+    // Not @Transactional: BCrypt runs between the read and a short update transaction
     public void changePassword(UUID userId, ChangePasswordRequestDTO dto) {
         User user = findById(userId);
 
-        if (!BcryptUtil.matches(dto.oldPassword, user.password)) {
+        if (!passwordHasher.matches(dto.oldPassword, user.password)) {
             throw new WebApplicationException("Invalid old password", Response.Status.UNAUTHORIZED);
         }
 
-        user.password = BcryptUtil.bcryptHash(dto.newPassword);
+        String passwordHash = passwordHasher.hash(dto.newPassword);
+        QuarkusTransaction.requiringNew().run(() -> userRepository.updatePassword(userId, passwordHash));
     }
 
     public User findById(UUID id) {
@@ -0,0 +1,54 @@
+package com.krills.service;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.entity.User;
+import com.krills.repository.UserRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.time.Clock;
+import java.util.UUID;
+
+// Per-user counter bumped in the same transaction as every change to the user's friends or profile; it backs the
+// ETags of the friend and profile reads so an unchanged If-None-Match costs one primary key lookup
+@ApplicationScoped
+public class UserVersions {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    @Inject
+    Clock clock;
+
+    public void bump(UUID userId) {
+        userRepository.incrementDataVersion(userId, clock.instant());
+    }
+
+    // Same as bump for a user already loaded in the current transaction
+    public void bump(User user) {
+        user.dataVersion++;
+        user.dataModifiedAt = clock.instant();
+    }
+
+    // Read before the data it tags: a write landing in between makes the ETag older than the body, never newer
+    public EntityTag tag(UUID userId) {
+        return tag(userId, current(userId));
+    }
+
+    public EntityTag tag(UUID userId, long version) {
+        return new EntityTag(userId + "-" + version);
+    }
+
+    // For representations that also change at local midnight, such as daysUntilBirthday
+    public EntityTag dailyTag(UUID userId, long version) {
+        return new EntityTag(userId + "-" + version + "-" + birthdayCalendar.today());
+    }
+
+    public long current(UUID userId) {
+        return userRepository.findDataVersion(userId).orElse(0L);
+    }
+}
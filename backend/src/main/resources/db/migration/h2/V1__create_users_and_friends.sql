@@ -0,0 +1,24 @@
+-- Schema as previously created by Hibernate's schema-management update
+create table users (
+    id uuid not null,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    birth_date date,
+    role varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table friends (
+    id uuid not null,
+    user_id uuid not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    birth_date date not null,
+    primary key (id),
+    constraint fk_friends_user foreign key (user_id) references users (id)
+);
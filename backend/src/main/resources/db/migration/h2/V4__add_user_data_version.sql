@@ -0,0 +1,2 @@
+-- Per-user change counter behind the ETags of the friend and profile reads
+alter table users add column data_version bigint default 0 not null;
@@ -0,0 +1,7 @@
+-- Secret of the user's calendar feed URL (null until one is created), and when the user's data last changed,
+-- which is the feed's Last-Modified
+alter table users add column calendar_token varchar(64);
+alter table users add column data_modified_at timestamp(6) with time zone default current_timestamp not null;
+
+-- Calendar feed polls: where calendar_token = ?
+create unique index uk_users_calendar_token on users (calendar_token);
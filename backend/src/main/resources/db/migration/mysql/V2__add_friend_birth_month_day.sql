@@ -0,0 +1,16 @@
+-- Birthday as month * 100 + day, so upcoming birthdays can be range-scanned per user
+alter table friends add column birth_month_day integer;
+
+update friends
+set birth_month_day = extract(month from birth_date) * 100 + extract(day from birth_date)
+where birth_month_day is null;
+
+-- Upcoming birthdays: where user_id = ? and birth_month_day between ? and ?
+create index idx_friends_user_birth_month_day on friends (user_id, birth_month_day);
+
+-- Friend list and keyset pages: where user_id = ? order by last_name, first_name, id
+-- (InnoDB appends the primary key, so id is covered; also replaces the implicit foreign key index)
+create index idx_friends_user_name on friends (user_id, last_name, first_name);
+
+-- Reminder job: where birth_month_day in (?) and id > ? order by id, across all users
+create index idx_friends_birth_month_day on friends (birth_month_day, id);
@@ -0,0 +1,11 @@
+create table reminder_deliveries (
+    id binary(16) not null,
+    friend_id binary(16) not null,
+    occurs_on date not null,
+    days_before integer not null,
+    claimed_at datetime(6) not null,
+    primary key (id),
+    constraint uk_reminder_deliveries unique (friend_id, occurs_on, days_before)
+) engine=InnoDB;
+
+create index idx_reminder_deliveries_occurs_on on reminder_deliveries (occurs_on);
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Starts the application a few times and fails when the median time to the first answered HTTP request or the
+# median resident memory right after it is over budget.
+#
+#   src/main/scripts/startup-benchmark.sh target/birthdaytracker-1.0-SNAPSHOT-runner
+#   STARTUP_BUDGET_MS=2500 RSS_BUDGET_MB=400 src/main/scripts/startup-benchmark.sh java -jar target/quarkus-app/quarkus-run.jar
+#
+# The in-memory H2 default is used unless DB_* variables say otherwise, so migrations run as part of every start.
+set -euo pipefail
+
+if [[ $# -eq 0 ]]; then
+    echo "usage: $0 <command starting the application>" >&2
+    exit 2
+fi
+
+STARTUP_BUDGET_MS=${STARTUP_BUDGET_MS:-250}
+RSS_BUDGET_MB=${RSS_BUDGET_MB:-128}
+RUNS=${STARTUP_BENCHMARK_RUNS:-5}
+PORT=${STARTUP_BENCHMARK_PORT:-18080}
+TIMEOUT_MS=${STARTUP_BENCHMARK_TIMEOUT_MS:-30000}
+
+# Any status counts: a 401 from a protected endpoint means the HTTP stack, security and routing are up
+URL="http://localhost:${PORT}/api/friends"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+pid=""
+cleanup() {
+    if [[ -n "$pid" ]] && kill -0 "$pid" 2>/dev/null; then
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+startups=()
+rss=()
+for run in $(seq 1 "$RUNS"); do
+    started=$(now_ms)
+    QUARKUS_HTTP_PORT=$PORT "$@" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl --silent --output /dev/null --max-time 1 "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "run $run: application exited before answering" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - started > TIMEOUT_MS )); then
+            echo "run $run: no answer within ${TIMEOUT_MS} ms" >&2
+            exit 1
+        fi
+        sleep 0.005
+    done
+    startup=$(( $(now_ms) - started ))
+    rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+
+    echo "run $run: first request after ${startup} ms, RSS $(( rss_kb / 1024 )) MB"
+    startups+=("$startup")
+    rss+=("$(( rss_kb / 1024 ))")
+    cleanup
+    pid=""
+done
+
+startup_median=$(printf '%s\n' "${startups[@]}" | median)
+rss_median=$(printf '%s\n' "${rss[@]}" | median)
+echo "median: first request after ${startup_median} ms (budget ${STARTUP_BUDGET_MS}), RSS ${rss_median} MB (budget ${RSS_BUDGET_MB})"
+
+failed=0
+if (( startup_median > STARTUP_BUDGET_MS )); then
+    echo "time to first request is over budget" >&2
+    failed=1
+fi
+if (( rss_median > RSS_BUDGET_MB )); then
+    echo "resident memory is over budget" >&2
+    failed=1
+fi
+exit $failed
@@ -0,0 +1,68 @@
+package com.krills.repository;
+
+import com.krills.dto.FriendCursor;
+import com.krills.entity.Friend;
+import io.quarkus.hibernate.reactive.panache.PanacheQuery;
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class ReactiveFriendRepository implements PanacheRepositoryBase<Friend, UUID> {
+
+    private static final Sort BIRTHDAY_ORDER = Sort.by("birthMonthDay")
+            .and("lastName")
+            .and("firstName")
+            .and("id");
+
+    private static final Sort NAME_ORDER = Sort.by("lastName")
+            .and("firstName")
+            .and("id");
+
+    public Uni<List<Friend>> findByUserId(UUID userId) {
+        return list("user.id", userId);
+    }
+
+    public Uni<List<Friend>> findPageByUserId(UUID userId, FriendCursor after, int limit) {
+        PanacheQuery<Friend> query = after == null
+                ? find("user.id", NAME_ORDER, userId)
+                : find("user.id = ?1 and (lastName > ?2 or (lastName = ?2 and (firstName > ?3 "
+                        + "or (firstName = ?3 and id > ?4))))",
+                NAME_ORDER,
+                userId, after.lastName, after.firstName, after.id);
+
+        return query.range(0, limit - 1).list();
+    }
+
+    public Uni<List<Friend>> findByBirthMonthDayBetween(UUID userId, int fromMonthDay, int toMonthDay, Integer limit) {
+        PanacheQuery<Friend> query = find(
+                "user.id = ?1 and birthMonthDay between ?2 and ?3",
+                BIRTHDAY_ORDER,
+                userId, fromMonthDay, toMonthDay
+        );
+
+        return limit != null ? query.range(0, limit - 1).list() : query.list();
+    }
+
+    public Uni<List<Friend>> findByBirthMonthDay(UUID userId, int monthDay) {
+        return list("user.id = ?1 and birthMonthDay = ?2", userId, monthDay);
+    }
+
+    public Uni<Integer> updateOwned(UUID userId, UUID friendId, String firstName, String lastName, LocalDate birthDate) {
+        return update("firstName = ?1, lastName = ?2, birthDate = ?3, birthMonthDay = ?4 where id = ?5 and user.id = ?6",
+                firstName, lastName, birthDate, Friend.toMonthDay(birthDate), friendId, userId);
+    }
+
+    public Uni<Long> deleteOwned(UUID userId, UUID friendId) {
+        return delete("id = ?1 and user.id = ?2", friendId, userId);
+    }
+
+    public Uni<Long> deleteByUserId(UUID userId) {
+        return delete("user.id", userId);
+    }
+}
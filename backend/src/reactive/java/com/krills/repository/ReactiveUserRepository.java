@@ -0,0 +1,29 @@
+package com.krills.repository;
+
+import com.krills.entity.User;
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@ApplicationScoped
+public class ReactiveUserRepository implements PanacheRepositoryBase<User, UUID> {
+
+    public Uni<User> findByUsername(String username) {
+        return find("username", username).firstResult();
+    }
+
+    public Uni<Integer> incrementDataVersion(UUID id, Instant modifiedAt) {
+        return update("dataVersion = dataVersion + 1, dataModifiedAt = ?2 where id = ?1", id, modifiedAt);
+    }
+
+    public Uni<Integer> updatePassword(UUID id, String password) {
+        return update("password = ?1 where id = ?2", password, id);
+    }
+
+    public Uni<Boolean> deleteUser(UUID id) {
+        return delete("id", id).map(count -> count > 0);
+    }
+}
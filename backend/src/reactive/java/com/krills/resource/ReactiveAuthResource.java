@@ -0,0 +1,37 @@
+package com.krills.resource;
+
+import com.krills.dto.AuthRequestDTO;
+import com.krills.dto.AuthResponseDTO;
+import com.krills.dto.RegisterRequestDTO;
+import com.krills.service.ReactiveAuthService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+@Path("/api/auth")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveAuthResource {
+
+    @Inject
+    ReactiveAuthService authService;
+
+    @POST
+    @Path("/register")
+    public Uni<AuthResponseDTO> register(@Valid RegisterRequestDTO request) {
+        return authService.register(request);
+    }
+
+    @POST
+    @Path("/login")
+    public Uni<AuthResponseDTO> login(@Valid AuthRequestDTO request) {
+        return authService.login(request);
+    }
+}
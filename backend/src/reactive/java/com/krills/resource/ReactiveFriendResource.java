@@ -0,0 +1,78 @@
+package com.krills.resource;
+
+import com.krills.dto.FriendRequestDTO;
+import com.krills.dto.FriendResponseDTO;
+import com.krills.security.CurrentUser;
+import com.krills.service.ReactiveFriendService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.security.Authenticated;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+import java.util.List;
+import java.util.UUID;
+
+@Path("/api/friends")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Authenticated
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveFriendResource {
+
+    @Inject
+    ReactiveFriendService friendService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    public Uni<List<FriendResponseDTO>> getAllFriends() {
+        UUID userId = currentUser.id();
+        return friendService.getAllFriends(userId);
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(FriendResource.NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<FriendResponseDTO> streamAllFriends() {
+        UUID userId = currentUser.id();
+        return friendService.streamAllFriends(userId);
+    }
+
+    @GET
+    @Path("/upcoming")
+    public Uni<List<FriendResponseDTO>> getUpcomingBirthdays(
+            @QueryParam("limit") @Min(1) Integer limit,
+            @QueryParam("withinDays") @Min(0) Integer withinDays
+    ) {
+        UUID userId = currentUser.id();
+        return friendService.getUpcomingBirthdays(userId, limit, withinDays);
+    }
+
+    @POST
+    public Uni<FriendResponseDTO> createFriend(@Valid FriendRequestDTO dto) {
+        UUID userId = currentUser.id();
+        return friendService.createFriend(userId, dto);
+    }
+
+    @PUT
+    @Path("/{id}")
+    public Uni<FriendResponseDTO> updateFriend(@PathParam("id") UUID friendId, @Valid FriendRequestDTO dto) {
+        UUID userId = currentUser.id();
+        return friendService.updateFriend(userId, friendId, dto);
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Uni<Void> deleteFriend(@PathParam("id") UUID friendId) {
+        UUID userId = currentUser.id();
+        return friendService.deleteFriend(userId, friendId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.krills.resource;
+
+import com.krills.dto.ChangePasswordRequestDTO;
+import com.krills.dto.ProfileRequestDTO;
+import com.krills.dto.ProfileResponseDTO;
+import com.krills.security.CurrentUser;
+import com.krills.service.ReactiveProfileService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.security.Authenticated;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Path("/api/me")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Authenticated
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveProfileResource {
+
+    @Inject
+    ReactiveProfileService profileService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    public Uni<ProfileResponseDTO> getProfile() {
+        UUID userId = currentUser.id();
+        return profileService.getProfile(userId);
+    }
+
+    @PUT
+    public Uni<ProfileResponseDTO> updateProfile(@Valid ProfileRequestDTO dto) {
+        UUID userId = currentUser.id();
+        return profileService.updateProfile(userId, dto);
+    }
+
+    @PATCH
+    @Path("/password")
+    public Uni<Response> changePassword(@Valid ChangePasswordRequestDTO dto) {
+        UUID userId = currentUser.id();
+        return profileService.changePassword(userId, dto)
+                .map(ignored -> Response.ok().entity(Map.of("message", "Password changed successfully")).build());
+    }
+
+    @DELETE
+    public Uni<Response> deleteProfile() {
+        UUID userId = currentUser.id();
+        return profileService.deleteProfile(userId)
+                .map(ignored -> Response.noContent().build());
+    }
+}
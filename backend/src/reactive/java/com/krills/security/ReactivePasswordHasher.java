@@ -0,0 +1,41 @@
+package com.krills.security;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+// PasswordHasher for the event loop: the BCrypt work is queued on the hasher pool without parking a worker thread,
+// and the result is emitted back on the caller's Vert.x context, where the reactive session must be used
+@ApplicationScoped
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactivePasswordHasher {
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    public Uni<String> hash(String password) {
+        return onCallerContext(() -> passwordHasher.hashAsync(password));
+    }
+
+    public Uni<Boolean> matches(String password, String hash) {
+        return onCallerContext(() -> passwordHasher.matchesAsync(password, hash));
+    }
+
+    public boolean needsRehash(String hash) {
+        return passwordHasher.needsRehash(hash);
+    }
+
+    private static <T> Uni<T> onCallerContext(Supplier<CompletionStage<T>> task) {
+        return Uni.createFrom().deferred(() -> {
+            Context context = Vertx.currentContext();
+            Uni<T> result = Uni.createFrom().completionStage(task);
+            return context == null ? result : result.emitOn(command -> context.runOnContext(ignored -> command.run()));
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.krills.service;
+
+import com.krills.dto.AuthRequestDTO;
+import com.krills.dto.AuthResponseDTO;
+import com.krills.dto.RegisterRequestDTO;
+import com.krills.entity.User;
+import com.krills.exception.ConflictException;
+import com.krills.mapper.UserMapper;
+import com.krills.repository.ReactiveUserRepository;
+import com.krills.security.ReactivePasswordHasher;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.exception.ConstraintViolationException;
+
+@ApplicationScoped
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveAuthService {
+
+    @Inject
+    ReactiveUserRepository userRepository;
+
+    @Inject
+    UserMapper mapper;
+
+    @Inject
+    AuthService authService;
+
+    @Inject
+    ReactivePasswordHasher passwordHasher;
+
+    @WithTransaction
+    public Uni<AuthResponseDTO> register(RegisterRequestDTO request) {
+        return passwordHasher.hash(request.password)
+                .chain(hash -> {
+                    User user = mapper.toUser(request);
+                    user.password = hash;
+                    user.role = "user";
+                    return userRepository.persistAndFlush(user);
+                })
+                .onFailure().transform(this::toConflict)
+                .map(user -> new AuthResponseDTO(authService.generateToken(user), user.id, user.username));
+    }
+
+    // Unique constraint violations on username or email become a 409 for that field
+    private Throwable toConflict(Throwable failure) {
+        ConstraintViolationException violation = AuthService.findConstraintViolation(failure);
+        if (violation == null) {
+            return failure;
+        }
+
+        ConflictException conflict = AuthService.toConflict(violation.getConstraintName());
+        return conflict != null ? conflict : new WebApplicationException("Username or email already exists", Response.Status.CONFLICT);
+    }
+
+    @WithSession
+    public Uni<AuthResponseDTO> login(AuthRequestDTO request) {
+        return userRepository.findByUsername(request.username)
+                .onItem().ifNull().failWith(() -> new WebApplicationException("Invalid credentials", Response.Status.UNAUTHORIZED))
+                .chain(user -> passwordHasher.matches(request.password, user.password)
+                        .chain(matches -> {
+                            if (!matches) {
+                                throw new WebApplicationException("Invalid credentials", Response.Status.UNAUTHORIZED);
+                            }
+                            return rehashIfNeeded(user, request.password);
+                        })
+                        .map(ignored -> new AuthResponseDTO(authService.generateToken(user), user.id, user.username)));
+    }
+
+    // Move hashes stored with an older cost factor to the configured one, as AuthService.login does
+    private Uni<Void> rehashIfNeeded(User user, String password) {
+        if (!passwordHasher.needsRehash(user.password)) {
+            return Uni.createFrom().voidItem();
+        }
+
+        return passwordHasher.hash(password)
+                .chain(rehashed -> Panache.withTransaction(() -> userRepository.updatePassword(user.id, rehashed)))
+                .replaceWithVoid();
+    }
+}
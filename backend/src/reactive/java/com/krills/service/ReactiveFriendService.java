@@ -0,0 +1,168 @@
+package com.krills.service;
+
+import com.krills.birthday.BirthdayCalendar;
+import com.krills.birthday.UpcomingWindow;
+import com.krills.dto.FriendCursor;
+import com.krills.dto.FriendRequestDTO;
+import com.krills.dto.FriendResponseDTO;
+import com.krills.entity.Friend;
+import com.krills.mapper.FriendMapper;
+import com.krills.repository.ReactiveFriendRepository;
+import com.krills.repository.ReactiveUserRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveFriendService {
+
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    @Inject
+    ReactiveFriendRepository friendRepository;
+
+    @Inject
+    ReactiveUserRepository userRepository;
+
+    @Inject
+    FriendMapper mapper;
+
+    @Inject
+    BirthdayCalendar birthdayCalendar;
+
+    @Inject
+    UserVersions userVersions;
+
+    @Inject
+    Clock clock;
+
+    @WithTransaction
+    public Uni<FriendResponseDTO> createFriend(UUID userId, FriendRequestDTO dto) {
+        return userRepository.findById(userId)
+                .onItem().ifNull().failWith(() -> new NotFoundException("User not found"))
+                .chain(user -> {
+                    Friend friend = mapper.toEntity(dto);
+                    friend.user = user;
+                    userVersions.bump(user);
+                    return friendRepository.persist(friend);
+                })
+                .map(friend -> mapper.toDTO(friend));
+    }
+
+    @WithSession
+    public Uni<List<FriendResponseDTO>> getUpcomingBirthdays(UUID userId, Integer limit, Integer withinDays) {
+        UpcomingWindow window = UpcomingWindow.of(birthdayCalendar.today(), withinDays);
+
+        return friendRepository.findByBirthMonthDayBetween(userId, window.from, window.to, limit)
+                .chain(upcoming -> {
+                    // Birthdays that already passed this year come next, in the following year
+                    if (!window.wraps() || (limit != null && upcoming.size() >= limit)) {
+                        return Uni.createFrom().item(upcoming);
+                    }
+
+                    Integer remaining = limit == null ? null : limit - upcoming.size();
+                    return friendRepository.findByBirthMonthDayBetween(
+                                    userId, UpcomingWindow.FIRST_MONTH_DAY, window.wrapTo, remaining)
+                            .map(wrapped -> {
+                                List<Friend> friends = new ArrayList<>(upcoming);
+                                friends.addAll(wrapped);
+                                return friends;
+                            });
+                })
+                .chain(friends -> {
+                    // As in FriendService: the limit may cut the last day anywhere in the database's name collation,
+                    // so that whole day is read and ranked here
+                    if (limit == null || friends.size() < limit) {
+                        return Uni.createFrom().item(friends);
+                    }
+
+                    int lastMonthDay = friends.get(limit - 1).birthMonthDay;
+                    return friendRepository.findByBirthMonthDay(userId, lastMonthDay)
+                            .map(lastDay -> {
+                                List<Friend> ranked = new ArrayList<>(friends);
+                                ranked.removeIf(friend -> friend.birthMonthDay == lastMonthDay);
+                                ranked.addAll(lastDay);
+                                return ranked;
+                            });
+                })
+                .map(friends -> friends.stream()
+                        .map(friend -> mapper.toDTO(friend))
+                        .sorted(FriendService.UPCOMING_ORDER)
+                        .limit(limit != null ? limit : Long.MAX_VALUE)
+                        .collect(Collectors.toList()));
+    }
+
+    @WithSession
+    public Uni<List<FriendResponseDTO>> getAllFriends(UUID userId) {
+        return friendRepository.findByUserId(userId).map(this::toDTOs);
+    }
+
+    // Hibernate Reactive has no cursors, so the stream is fed by keyset pages, each in its own session
+    public Multi<FriendResponseDTO> streamAllFriends(UUID userId) {
+        return Multi.createBy().repeating()
+                .uni(() -> new AtomicReference<FriendCursor>(), after -> Panache.withSession(
+                                () -> friendRepository.findPageByUserId(userId, after.get(), STREAM_PAGE_SIZE))
+                        .invoke(page -> {
+                            if (!page.isEmpty()) {
+                                after.set(FriendCursor.of(page.get(page.size() - 1)));
+                            }
+                        }))
+                .until(List::isEmpty)
+                .onItem().<Friend>disjoint()
+                .map(friend -> mapper.toDTO(friend));
+    }
+
+    @WithTransaction
+    public Uni<FriendResponseDTO> updateFriend(UUID userId, UUID friendId, FriendRequestDTO dto) {
+        return friendRepository.updateOwned(userId, friendId, dto.firstName, dto.lastName, dto.birthDate)
+                .chain(updated -> updated == 0 ? notOwned(friendId) : bump(userId))
+                .map(ignored -> {
+                    Friend friend = mapper.toEntity(dto);
+                    friend.id = friendId;
+                    return mapper.toDTO(friend);
+                });
+    }
+
+    @WithTransaction
+    public Uni<Void> deleteFriend(UUID userId, UUID friendId) {
+        return friendRepository.deleteOwned(userId, friendId)
+                .chain(deleted -> deleted == 0 ? notOwned(friendId) : bump(userId));
+    }
+
+    // Same as UserVersions.bump, in the reactive transaction, so the blocking ETag reads see the change
+    private Uni<Void> bump(UUID userId) {
+        return userRepository.incrementDataVersion(userId, clock.instant()).replaceWithVoid();
+    }
+
+    private Uni<Void> notOwned(UUID friendId) {
+        return friendRepository.count("id", friendId)
+                .map(count -> {
+                    if (count == 0) {
+                        throw new NotFoundException("Friend not found");
+                    }
+                    throw new WebApplicationException("Unauthorized", Response.Status.FORBIDDEN);
+                });
+    }
+
+    private List<FriendResponseDTO> toDTOs(List<Friend> friends) {
+        return friends.stream()
+                .map(friend -> mapper.toDTO(friend))
+                .collect(Collectors.toList());
+    }
+}
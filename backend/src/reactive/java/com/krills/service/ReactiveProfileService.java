@@ -0,0 +1,95 @@
+package com.krills.service;
+
+import com.krills.dto.ChangePasswordRequestDTO;
+import com.krills.dto.ProfileRequestDTO;
+import com.krills.dto.ProfileResponseDTO;
+import com.krills.entity.User;
+import com.krills.mapper.UserMapper;
+import com.krills.repository.ReactiveFriendRepository;
+import com.krills.repository.ReactiveUserRepository;
+import com.krills.security.ReactivePasswordHasher;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+import java.util.UUID;
+
+@ApplicationScoped
+@IfBuildProperty(name = "persistence.mode", stringValue = "reactive")
+public class ReactiveProfileService {
+
+    @Inject
+    ReactiveUserRepository userRepository;
+
+    @Inject
+    ReactiveFriendRepository friendRepository;
+
+    @Inject
+    UserMapper mapper;
+
+    @Inject
+    ReactivePasswordHasher passwordHasher;
+
+    @Inject
+    UserVersions userVersions;
+
+    @WithSession
+    public Uni<ProfileResponseDTO> getProfile(UUID userId) {
+        return findById(userId).map(user -> mapper.toDTO(user));
+    }
+
+    @WithTransaction
+    public Uni<ProfileResponseDTO> updateProfile(UUID userId, ProfileRequestDTO dto) {
+        return findById(userId)
+                .map(user -> {
+                    user.firstName = dto.firstName;
+                    user.lastName = dto.lastName;
+                    user.birthDate = dto.birthDate;
+                    user.email = dto.email;
+                    user.username = dto.username;
+                    userVersions.bump(user);
+
+                    return mapper.toDTO(user);
+                });
+    }
+
+    // Friends are removed with one bulk delete, the lazy collection is never loaded to cascade
+    @WithTransaction
+    public Uni<Void> deleteProfile(UUID userId) {
+        return friendRepository.deleteByUserId(userId)
+                .chain(() -> userRepository.deleteUser(userId))
+                .invoke(deleted -> {
+                    if (!deleted) {
+                        throw new NotFoundException("User not found");
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    // Not @WithTransaction: as in ProfileService, BCrypt runs between the read and a short update transaction, so
+    // neither holds a connection while the hash is computed
+    public Uni<Void> changePassword(UUID userId, ChangePasswordRequestDTO dto) {
+        return Panache.withSession(() -> findById(userId))
+                .chain(user -> passwordHasher.matches(dto.oldPassword, user.password))
+                .chain(matches -> {
+                    if (!matches) {
+                        throw new WebApplicationException("Invalid old password", Response.Status.UNAUTHORIZED);
+                    }
+                    return passwordHasher.hash(dto.newPassword);
+                })
+                .chain(hash -> Panache.withTransaction(() -> userRepository.updatePassword(userId, hash)))
+                .replaceWithVoid();
+    }
+
+    private Uni<User> findById(UUID userId) {
+        return userRepository.findById(userId)
+                .onItem().ifNull().failWith(() -> new NotFoundException("User not found"));
+    }
+}
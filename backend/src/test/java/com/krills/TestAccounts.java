@@ -0,0 +1,43 @@
+package com.krills;
+
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+// Registers a fresh account per test, so tests sharing the application's database do not see each other's friends
+public final class TestAccounts {
+
+    public static final String PASSWORD = "Password1!";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private TestAccounts() {
+    }
+
+    public static Account register() {
+        String username = "test" + SEQUENCE.incrementAndGet() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        JsonPath body = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of(
+                        "username", username,
+                        "email", username + "@example.com",
+                        "password", PASSWORD,
+                        "firstName", "Test",
+                        "lastName", "User",
+                        "birthDate", "1990-01-15"))
+                .post("/api/auth/register")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath();
+        return new Account(UUID.fromString(body.getString("userId")), username, body.getString("token"));
+    }
+
+    public record Account(UUID id, String username, String token) {
+    }
+}
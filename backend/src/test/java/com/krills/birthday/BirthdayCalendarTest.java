@@ -0,0 +1,118 @@
+package com.krills.birthday;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BirthdayCalendarTest {
+
+    private static final int JAN_1 = BirthdayCalendar.ordinal(LocalDate.of(2000, 1, 1));
+    private static final int FEB_28 = BirthdayCalendar.ordinal(LocalDate.of(2000, 2, 28));
+    private static final int FEB_29 = BirthdayCalendar.ordinal(LocalDate.of(2000, 2, 29));
+    private static final int MAR_1 = BirthdayCalendar.ordinal(LocalDate.of(2000, 3, 1));
+    private static final int DEC_31 = BirthdayCalendar.ordinal(LocalDate.of(2000, 12, 31));
+
+    private final MutableClock clock = new MutableClock();
+    private final BirthdayCalendar calendar = new BirthdayCalendar();
+
+    @BeforeEach
+    void setUp() {
+        calendar.clock = clock;
+    }
+
+    @Test
+    void ordinalsAreTheSameInLeapAndNonLeapYears() {
+        assertEquals(0, JAN_1);
+        assertEquals(59, FEB_29);
+        assertEquals(365, DEC_31);
+        assertEquals(FEB_28, BirthdayCalendar.ordinal(LocalDate.of(1991, 2, 28)));
+        assertEquals(MAR_1, BirthdayCalendar.ordinal(LocalDate.of(1991, 3, 1)));
+        assertEquals(DEC_31, BirthdayCalendar.ordinal(LocalDate.of(1991, 12, 31)));
+    }
+
+    @Test
+    void wrapsFromDecember31ToJanuary1() {
+        clock.set(LocalDate.of(2026, 12, 31));
+
+        assertEquals(0, calendar.daysUntilBirthday(DEC_31));
+        assertTrue(calendar.isBirthdayToday(DEC_31));
+        assertEquals(1, calendar.daysUntilBirthday(JAN_1));
+        assertEquals(LocalDate.of(2027, 1, 1), calendar.nextBirthday(JAN_1));
+        assertEquals(LocalDate.of(2027, 2, 28), calendar.nextBirthday(FEB_29));
+    }
+
+    @Test
+    void january1MakesLastYearsDecember31ANewYearAway() {
+        clock.set(LocalDate.of(2027, 1, 1));
+
+        assertEquals(0, calendar.daysUntilBirthday(JAN_1));
+        assertEquals(364, calendar.daysUntilBirthday(DEC_31));
+        assertEquals(LocalDate.of(2027, 12, 31), calendar.nextBirthday(DEC_31));
+    }
+
+    @Test
+    void february29IsCelebratedOnFebruary28InNonLeapYears() {
+        clock.set(LocalDate.of(2027, 2, 1));
+
+        assertEquals(LocalDate.of(2027, 2, 28), calendar.nextBirthday(FEB_29));
+        assertEquals(27, calendar.daysUntilBirthday(FEB_29));
+        assertEquals(calendar.daysUntilBirthday(FEB_28), calendar.daysUntilBirthday(FEB_29));
+        assertEquals(28, calendar.daysUntilBirthday(MAR_1));
+
+        clock.set(LocalDate.of(2027, 2, 28));
+        assertTrue(calendar.isBirthdayToday(FEB_28));
+        assertTrue(calendar.isBirthdayToday(FEB_29));
+    }
+
+    @Test
+    void february29IsItsOwnDayInLeapYears() {
+        clock.set(LocalDate.of(2028, 2, 1));
+
+        assertEquals(LocalDate.of(2028, 2, 28), calendar.nextBirthday(FEB_28));
+        assertEquals(LocalDate.of(2028, 2, 29), calendar.nextBirthday(FEB_29));
+        assertEquals(28, calendar.daysUntilBirthday(FEB_29));
+        assertEquals(29, calendar.daysUntilBirthday(MAR_1));
+
+        clock.set(LocalDate.of(2028, 2, 28));
+        assertTrue(calendar.isBirthdayToday(FEB_28));
+        assertFalse(calendar.isBirthdayToday(FEB_29));
+    }
+
+    @Test
+    void february29AfterItPassedLooksAtNextYear() {
+        clock.set(LocalDate.of(2027, 3, 1));
+        assertEquals(LocalDate.of(2028, 2, 29), calendar.nextBirthday(FEB_29));
+        assertEquals(365, calendar.daysUntilBirthday(FEB_29));
+
+        clock.set(LocalDate.of(2028, 3, 1));
+        assertEquals(LocalDate.of(2029, 2, 28), calendar.nextBirthday(FEB_29));
+        assertEquals(364, calendar.daysUntilBirthday(FEB_29));
+    }
+
+    @Test
+    void projectionIsRebuiltAtMidnight() {
+        clock.set(LocalDateTime.of(2026, 12, 31, 23, 59, 59));
+        assertEquals(LocalDate.of(2026, 12, 31), calendar.today());
+        assertEquals(1, calendar.daysUntilBirthday(JAN_1));
+
+        clock.set(LocalDateTime.of(2027, 1, 1, 0, 0));
+        assertEquals(LocalDate.of(2027, 1, 1), calendar.today());
+        assertEquals(0, calendar.daysUntilBirthday(JAN_1));
+    }
+
+    @Test
+    void projectionIsRebuiltWhenTheClockGoesBack() {
+        clock.set(LocalDate.of(2027, 1, 1));
+        assertEquals(0, calendar.daysUntilBirthday(JAN_1));
+
+        clock.set(LocalDate.of(2026, 12, 31));
+        assertEquals(LocalDate.of(2026, 12, 31), calendar.today());
+        assertEquals(1, calendar.daysUntilBirthday(JAN_1));
+    }
+}
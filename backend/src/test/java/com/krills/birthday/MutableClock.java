@@ -0,0 +1,60 @@
+package com.krills.birthday;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+// Replaces the system clock in tests. It follows the system time until a test sets it, and tests that set it reset
+// it afterwards
+@Alternative
+@Priority(1)
+@Singleton
+public class MutableClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant fixed;
+
+    public MutableClock() {
+        this(ZoneId.systemDefault());
+    }
+
+    public MutableClock(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public void set(LocalDateTime dateTime) {
+        fixed = dateTime.atZone(zone).toInstant();
+    }
+
+    // Noon, so the date is the same in any zone the test runs in
+    public void set(LocalDate date) {
+        set(date.atTime(LocalTime.NOON));
+    }
+
+    public void reset() {
+        fixed = null;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+        Instant instant = fixed;
+        return instant != null ? instant : Instant.now();
+    }
+}
@@ -0,0 +1,92 @@
+package com.krills.birthday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpcomingWindowTest {
+
+    @Test
+    void withoutALimitCoversTheRestOfTheYearThenWrapsToYesterday() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2026, 6, 15), null);
+
+        assertEquals(615, window.from);
+        assertEquals(1231, window.to);
+        assertTrue(window.wraps());
+        assertEquals(614, window.wrapTo);
+    }
+
+    @Test
+    void january1NeedsNoWrap() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2027, 1, 1), null);
+
+        assertEquals(101, window.from);
+        assertEquals(1231, window.to);
+        assertFalse(window.wraps());
+    }
+
+    @Test
+    void zeroDaysIsToday() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2026, 10, 17), 0);
+
+        assertEquals(1017, window.from);
+        assertEquals(1017, window.to);
+        assertFalse(window.wraps());
+    }
+
+    @Test
+    void december31PlusOneDayWrapsToJanuary1() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2026, 12, 31), 1);
+
+        assertEquals(1231, window.from);
+        assertEquals(1231, window.to);
+        assertTrue(window.wraps());
+        assertEquals(101, window.wrapTo);
+    }
+
+    @Test
+    void windowEndingInJanuaryWrapsToItsEnd() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2026, 12, 20), 30);
+
+        assertEquals(1220, window.from);
+        assertEquals(1231, window.to);
+        assertEquals(119, window.wrapTo);
+    }
+
+    @Test
+    void endingOnFebruary28OfANonLeapYearIncludesFebruary29() {
+        assertEquals(229, UpcomingWindow.of(LocalDate.of(2027, 2, 1), 27).to);
+        assertEquals(229, UpcomingWindow.of(LocalDate.of(2026, 12, 1), 89).wrapTo);
+    }
+
+    @Test
+    void endingOnFebruary28OfALeapYearExcludesFebruary29() {
+        assertEquals(228, UpcomingWindow.of(LocalDate.of(2028, 2, 1), 27).to);
+        assertEquals(229, UpcomingWindow.of(LocalDate.of(2028, 2, 1), 28).to);
+    }
+
+    @Test
+    void aYearAheadNeverIncludesTodayTwice() {
+        // 365 days from Mar 1 2027 is Feb 29 2028
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2027, 3, 1), 365);
+        assertEquals(301, window.from);
+        assertEquals(229, window.wrapTo);
+
+        // and from Jan 1 it is Jan 1 next year, which is today's month-day
+        window = UpcomingWindow.of(LocalDate.of(2027, 1, 1), 365);
+        assertEquals(1231, window.to);
+        assertFalse(window.wraps());
+    }
+
+    @Test
+    void aLeapYearOrMoreIsTheWholeCalendar() {
+        UpcomingWindow window = UpcomingWindow.of(LocalDate.of(2026, 6, 15), 366);
+
+        assertEquals(1231, window.to);
+        assertEquals(614, window.wrapTo);
+    }
+}
@@ -0,0 +1,52 @@
+package com.krills.notification;
+
+import com.krills.repository.ReminderDeliveryRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A page where another instance already claimed some rows must still claim, and so send, the rest
+@QuarkusTest
+class ReminderClaimTest {
+
+    private static final LocalDate OCCURS_ON = LocalDate.of(2031, 7, 13);
+
+    @Inject
+    BirthdayReminderJob job;
+
+    @Inject
+    ReminderDeliveryRepository deliveryRepository;
+
+    @Test
+    void claimsAWholePageInOneGo() {
+        List<BirthdayReminder> page = List.of(reminder(), reminder(), reminder());
+
+        assertEquals(page, job.claim(page));
+        assertEquals(List.of(), job.claim(page));
+    }
+
+    @Test
+    void claimsTheRowsNobodyElseClaimed() {
+        BirthdayReminder first = reminder();
+        BirthdayReminder taken = reminder();
+        BirthdayReminder last = reminder();
+        QuarkusTransaction.requiringNew().run(() -> deliveryRepository.claim(List.of(taken)));
+
+        assertEquals(List.of(first, last), job.claim(List.of(first, taken, last)));
+    }
+
+    private static BirthdayReminder reminder() {
+        BirthdayReminder reminder = new BirthdayReminder(UUID.randomUUID(), UUID.randomUUID(), "user@example.com",
+                "Test", "Friend", OCCURS_ON.minusYears(30));
+        reminder.occursOn = OCCURS_ON;
+        reminder.daysBefore = 0;
+        return reminder;
+    }
+}
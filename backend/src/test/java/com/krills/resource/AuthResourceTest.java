@@ -0,0 +1,33 @@
+package com.krills.resource;
+
+import com.krills.TestAccounts;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.notNullValue;
+
+// The test profile runs the query budget in fail mode, so an endpoint over its @QueryBudget answers 500
+@QuarkusTest
+class AuthResourceTest {
+
+    @Test
+    void register() {
+        TestAccounts.register();
+    }
+
+    @Test
+    void login() {
+        TestAccounts.Account account = TestAccounts.register();
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("username", account.username(), "password", TestAccounts.PASSWORD))
+                .post("/api/auth/login")
+                .then()
+                .statusCode(200)
+                .body("token", notNullValue());
+    }
+}
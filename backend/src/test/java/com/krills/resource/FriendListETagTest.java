@@ -0,0 +1,84 @@
+package com.krills.resource;
+
+import com.krills.TestAccounts;
+import com.krills.entity.Friend;
+import com.krills.repository.FriendRepository;
+import com.krills.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// The friend list cache is per instance. A write made on another instance bumps the user's data version without
+// touching this instance's cache; the next read must serve the new list under the new tag
+@QuarkusTest
+class FriendListETagTest {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    FriendRepository friendRepository;
+
+    @Test
+    void writeOnAnotherInstanceIsNeverServedFromTheStaleCache() {
+        TestAccounts.Account account = TestAccounts.register();
+
+        String before = given().auth().oauth2(account.token())
+                .get("/api/friends")
+                .then()
+                .statusCode(200)
+                .body("$", empty())
+                .extract()
+                .header("ETag");
+
+        writeAsAnotherInstance(account, "Alice", "Smith");
+
+        for (String path : new String[]{"/api/friends", "/api/friends/upcoming"}) {
+            given().auth().oauth2(account.token())
+                    .get(path)
+                    .then()
+                    .statusCode(200)
+                    .body("lastName", contains("Smith"));
+        }
+
+        String after = given().auth().oauth2(account.token())
+                .header("If-None-Match", before)
+                .get("/api/friends")
+                .then()
+                .statusCode(200)
+                .body("$", not(empty()))
+                .extract()
+                .header("ETag");
+        assertNotEquals(before, after);
+
+        given().auth().oauth2(account.token())
+                .header("If-None-Match", after)
+                .get("/api/friends")
+                .then()
+                .statusCode(304);
+    }
+
+    // Inserts a friend and bumps the version in one transaction, as FriendService does, but without invalidating
+    // this instance's cache
+    private void writeAsAnotherInstance(TestAccounts.Account account, String firstName, String lastName) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Friend friend = new Friend();
+            friend.user = userRepository.findById(account.id());
+            friend.firstName = firstName;
+            friend.lastName = lastName;
+            friend.birthDate = LocalDate.of(1990, 5, 15);
+            friendRepository.persist(friend);
+            userRepository.incrementDataVersion(account.id(), Instant.now());
+        });
+    }
+}
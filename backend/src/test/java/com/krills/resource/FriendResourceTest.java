@@ -0,0 +1,183 @@
+package com.krills.resource;
+
+import com.krills.TestAccounts;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+// The test profile runs the query budget in fail mode, so an endpoint over its @QueryBudget answers 500. Each
+// account starts with several friends, so a per-friend query shows up as a repeated select
+@QuarkusTest
+class FriendResourceTest {
+
+    private static final int FRIENDS = 6;
+
+    private TestAccounts.Account account;
+    private List<String> friendIds;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccounts.register();
+        friendIds = addFriends(account, FRIENDS);
+    }
+
+    @Test
+    void getAllFriends() {
+        // Once loading the list, once from the cache
+        for (int i = 0; i < 2; i++) {
+            authorized().get("/api/friends")
+                    .then()
+                    .statusCode(200)
+                    .body("$", hasSize(FRIENDS));
+        }
+    }
+
+    @Test
+    void getFriendsPage() {
+        authorized().queryParam("limit", 2)
+                .get("/api/friends")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2));
+    }
+
+    @Test
+    void streamAllFriends() {
+        authorized().accept(FriendResource.NDJSON)
+                .get("/api/friends/stream")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void getUpcomingBirthdays() {
+        authorized().get("/api/friends/upcoming")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(FRIENDS));
+    }
+
+    @Test
+    void getCalendar() {
+        String token = authorized().contentType(ContentType.JSON).post("/api/me/calendar-token")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("token");
+
+        given().queryParam("token", token)
+                .get("/api/friends/calendar.ics")
+                .then()
+                .statusCode(200)
+                .body(containsString("BEGIN:VCALENDAR"));
+    }
+
+    @Test
+    void exportFriends() {
+        for (String format : new String[]{"csv", "vcard"}) {
+            authorized().queryParam("format", format)
+                    .get("/api/friends/export")
+                    .then()
+                    .statusCode(200);
+        }
+    }
+
+    @Test
+    void searchFriends() {
+        authorized().queryParam("q", "Friend")
+                .get("/api/friends/search")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void createFriend() {
+        authorized().contentType(ContentType.JSON)
+                .body(friend("New", "Friend", "1991-04-02"))
+                .post("/api/friends")
+                .then()
+                .statusCode(200)
+                .body("firstName", equalTo("New"));
+    }
+
+    @Test
+    void importFriends() {
+        authorized().contentType(ContentType.JSON)
+                .body(List.of(friend("Json", "One", "1990-01-01"), friend("Json", "Two", "1990-01-02")))
+                .post("/api/friends/bulk")
+                .then()
+                .statusCode(200)
+                .body("imported", equalTo(2));
+    }
+
+    @Test
+    void importFriendsCsv() {
+        authorized().contentType(FriendResource.CSV)
+                .body("firstName,lastName,birthDate\nCsv,One,1990-01-01\nCsv,Two,1990-01-02\n")
+                .post("/api/friends/bulk")
+                .then()
+                .statusCode(200)
+                .body("imported", equalTo(2));
+    }
+
+    @Test
+    void importFriendsVCard() {
+        authorized().contentType(FriendResource.VCARD)
+                .body("BEGIN:VCARD\r\nVERSION:4.0\r\nN:Card;Vera;;;\r\nFN:Vera Card\r\nBDAY:19900101\r\nEND:VCARD\r\n")
+                .post("/api/friends/bulk")
+                .then()
+                .statusCode(200)
+                .body("imported", equalTo(1));
+    }
+
+    @Test
+    void updateFriend() {
+        authorized().contentType(ContentType.JSON)
+                .body(friend("Updated", "Friend", "1989-09-09"))
+                .put("/api/friends/" + friendIds.get(0))
+                .then()
+                .statusCode(200)
+                .body("firstName", equalTo("Updated"));
+    }
+
+    @Test
+    void deleteFriend() {
+        authorized().delete("/api/friends/" + friendIds.get(0))
+                .then()
+                .statusCode(204);
+    }
+
+    private RequestSpecification authorized() {
+        return given().auth().oauth2(account.token());
+    }
+
+    static List<String> addFriends(TestAccounts.Account account, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ids.add(given().auth().oauth2(account.token())
+                    .contentType(ContentType.JSON)
+                    .body(friend("Friend" + i, "Test", String.format("1990-%02d-15", i)))
+                    .post("/api/friends")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .path("id"));
+        }
+        return ids;
+    }
+
+    private static Map<String, String> friend(String firstName, String lastName, String birthDate) {
+        return Map.of("firstName", firstName, "lastName", lastName, "birthDate", birthDate);
+    }
+}
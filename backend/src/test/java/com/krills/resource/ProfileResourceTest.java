@@ -0,0 +1,90 @@
+package com.krills.resource;
+
+import com.krills.TestAccounts;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+// The test profile runs the query budget in fail mode, so an endpoint over its @QueryBudget answers 500
+@QuarkusTest
+class ProfileResourceTest {
+
+    private TestAccounts.Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = TestAccounts.register();
+        FriendResourceTest.addFriends(account, 3);
+    }
+
+    @Test
+    void getProfile() {
+        authorized().get("/api/me")
+                .then()
+                .statusCode(200)
+                .body("username", equalTo(account.username()));
+    }
+
+    @Test
+    void updateProfile() {
+        authorized().contentType(ContentType.JSON)
+                .body(Map.of(
+                        "username", account.username(),
+                        "email", account.username() + "@example.org",
+                        "firstName", "Renamed",
+                        "lastName", "User",
+                        "birthDate", "1990-01-15"))
+                .put("/api/me")
+                .then()
+                .statusCode(200)
+                .body("firstName", equalTo("Renamed"));
+    }
+
+    @Test
+    void changePassword() {
+        authorized().contentType(ContentType.JSON)
+                .body(Map.of(
+                        "oldPassword", TestAccounts.PASSWORD,
+                        "newPassword", "Changed1!",
+                        "confirmNewPassword", "Changed1!"))
+                .patch("/api/me/password")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void createCalendarToken() {
+        authorized().contentType(ContentType.JSON).post("/api/me/calendar-token")
+                .then()
+                .statusCode(200)
+                .body("url", notNullValue());
+    }
+
+    @Test
+    void deleteCalendarToken() {
+        authorized().contentType(ContentType.JSON).post("/api/me/calendar-token").then().statusCode(200);
+
+        authorized().delete("/api/me/calendar-token")
+                .then()
+                .statusCode(204);
+    }
+
+    @Test
+    void deleteProfile() {
+        authorized().delete("/api/me")
+                .then()
+                .statusCode(204);
+    }
+
+    private RequestSpecification authorized() {
+        return given().auth().oauth2(account.token());
+    }
+}
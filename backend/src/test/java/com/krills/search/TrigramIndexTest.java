@@ -0,0 +1,44 @@
+package com.krills.search;
+
+import com.krills.dto.FriendResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(List.of(
+            friend("Robert", "Miller"),
+            friend("Michael", "Brown"),
+            friend("Anna", "Lee")));
+
+    @Test
+    void swapNearTheStartOfANameIsOneTypo() {
+        assertEquals(List.of("Robert"), firstNames(index.search("rboert", 10)));
+    }
+
+    @Test
+    void swapsInBothWordsOfTheQuery() {
+        assertEquals(List.of("Michael"), firstNames(index.search("micheal brwon", 10)));
+    }
+
+    @Test
+    void matchesAPrefixOfTheLastName() {
+        assertEquals(List.of("Robert"), firstNames(index.search("mill", 10)));
+    }
+
+    private static FriendResponseDTO friend(String firstName, String lastName) {
+        FriendResponseDTO friend = new FriendResponseDTO();
+        friend.id = UUID.randomUUID();
+        friend.firstName = firstName;
+        friend.lastName = lastName;
+        return friend;
+    }
+
+    private static List<String> firstNames(List<FriendResponseDTO> friends) {
+        return friends.stream().map(friend -> friend.firstName).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.krills.service;
+
+import com.krills.TestAccounts;
+import com.krills.birthday.MutableClock;
+import com.krills.cache.FriendListCache;
+import com.krills.dto.FriendRequestDTO;
+import com.krills.dto.FriendResponseDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The upcoming list is served from the database until the friend list is cached, then from the cache;
+// both must return the same friends in the same order
+@QuarkusTest
+class UpcomingBirthdaysTest {
+
+    @Inject
+    FriendService friendService;
+
+    @Inject
+    FriendListCache friendListCache;
+
+    @Inject
+    UserVersions userVersions;
+
+    @Inject
+    MutableClock clock;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = TestAccounts.register().id();
+    }
+
+    @AfterEach
+    void resetClock() {
+        clock.reset();
+    }
+
+    @Test
+    void february29FollowsFebruary28InNonLeapYears() {
+        clock.set(LocalDate.of(2027, 2, 20));
+        addFriend("Eve", "Early", LocalDate.of(1991, 2, 21));
+        addFriend("Anna", "Zimmer", LocalDate.of(1990, 2, 28));
+        addFriend("Bob", "Adams", LocalDate.of(1992, 2, 29));
+        addFriend("Carl", "Young", LocalDate.of(1985, 2, 28));
+        addFriend("Dan", "Baker", LocalDate.of(1980, 3, 1));
+
+        List<String> expected = List.of("Early", "Young", "Zimmer", "Adams", "Baker");
+        assertBothPaths(null, null, expected);
+        assertBothPaths(3, null, expected.subList(0, 3));
+        assertBothPaths(4, null, expected.subList(0, 4));
+        assertBothPaths(null, 8, expected.subList(0, 4));
+        assertBothPaths(null, 7, expected.subList(0, 1));
+    }
+
+    @Test
+    void february29IsItsOwnDayInLeapYears() {
+        clock.set(LocalDate.of(2028, 2, 20));
+        addFriend("Bob", "Adams", LocalDate.of(1992, 2, 29));
+        addFriend("Anna", "Zimmer", LocalDate.of(1990, 2, 28));
+
+        assertBothPaths(null, null, List.of("Zimmer", "Adams"));
+        assertBothPaths(null, 8, List.of("Zimmer"));
+    }
+
+    @Test
+    void wrapsFromDecember31IntoJanuary() {
+        clock.set(LocalDate.of(2026, 12, 31));
+        addFriend("Jan", "First", LocalDate.of(1990, 1, 1));
+        addFriend("Dec", "Last", LocalDate.of(1990, 12, 31));
+        addFriend("Nov", "Gone", LocalDate.of(1990, 11, 30));
+        addFriend("Jan", "Second", LocalDate.of(1990, 1, 2));
+
+        assertBothPaths(null, null, List.of("Last", "First", "Second", "Gone"));
+        assertBothPaths(2, null, List.of("Last", "First"));
+        assertBothPaths(null, 0, List.of("Last"));
+        assertBothPaths(null, 1, List.of("Last", "First"));
+    }
+
+    @Test
+    void limitCutsTiesByNameNotByDatabaseOrder() {
+        clock.set(LocalDate.of(2026, 6, 1));
+        addFriend("Zed", "smith", LocalDate.of(1990, 6, 2));
+        addFriend("Amy", "Smith", LocalDate.of(1991, 6, 2));
+        addFriend("Al", "Able", LocalDate.of(1992, 6, 2));
+        addFriend("Bo", "Brown", LocalDate.of(1993, 6, 3));
+
+        assertBothPaths(2, null, List.of("Able", "Smith"));
+        assertBothPaths(3, null, List.of("Able", "Smith", "smith"));
+    }
+
+    private void assertBothPaths(Integer limit, Integer withinDays, List<String> lastNames) {
+        long version = userVersions.current(userId);
+        friendListCache.invalidate(userId);
+        assertEquals(lastNames, lastNames(friendService.getUpcomingBirthdays(userId, version, limit, withinDays)),
+                "database");
+
+        friendService.getAllFriends(userId, version);
+        assertEquals(lastNames, lastNames(friendService.getUpcomingBirthdays(userId, version, limit, withinDays)),
+                "cache");
+    }
+
+    private void addFriend(String firstName, String lastName, LocalDate birthDate) {
+        FriendRequestDTO friend = new FriendRequestDTO();
+        friend.firstName = firstName;
+        friend.lastName = lastName;
+        friend.birthDate = birthDate;
+        friendService.createFriend(userId, friend);
+    }
+
+    private static List<String> lastNames(List<FriendResponseDTO> friends) {
+        return friends.stream().map(friend -> friend.lastName).toList();
+    }
+}